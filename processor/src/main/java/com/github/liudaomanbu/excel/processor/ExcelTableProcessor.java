@@ -0,0 +1,404 @@
+package com.github.liudaomanbu.excel.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+// 为@ExcelTable类生成TableConfigFactory实现,生成的配置与ExcelUtil.parseToTableConfig一致,
+// 不能生成时给出警告,运行时仍按反射读取注解
+@SupportedAnnotationTypes(ExcelTableProcessor.EXCEL_TABLE)
+public class ExcelTableProcessor extends AbstractProcessor {
+  static final String EXCEL_TABLE = "com.github.liudaomanbu.excel.annotation.ExcelTable";
+  private static final String EXCEL_FIELD = "com.github.liudaomanbu.excel.annotation.ExcelField";
+  private static final String SUFFIX = "_TableConfigFactory";
+  private static final String STRING = "java.lang.String";
+  // 与ClassMetadata中按字段类型推断的数据类型一致
+  private static final Map<String, String> TYPE_TO_DATA_TYPES = new LinkedHashMap<>();
+
+  static {
+    for (String type : new String[] {"byte", "java.lang.Byte", "short", "java.lang.Short", "int",
+        "java.lang.Integer", "long", "java.lang.Long", "java.math.BigInteger"}) {
+      TYPE_TO_DATA_TYPES.put(type, "WHOLE_NUMBER");
+    }
+    for (String type : new String[] {"float", "java.lang.Float", "double", "java.lang.Double",
+        "java.math.BigDecimal"}) {
+      TYPE_TO_DATA_TYPES.put(type, "DECIMAL");
+    }
+    TYPE_TO_DATA_TYPES.put("boolean", "BOOLEAN");
+    TYPE_TO_DATA_TYPES.put("java.lang.Boolean", "BOOLEAN");
+    TYPE_TO_DATA_TYPES.put("java.util.Date", "DATE_TIME");
+    TYPE_TO_DATA_TYPES.put("java.time.LocalDateTime", "DATE_TIME");
+    TYPE_TO_DATA_TYPES.put("java.time.LocalDate", "DATE");
+    TYPE_TO_DATA_TYPES.put("java.time.LocalTime", "TIME");
+  }
+
+  private static class FieldInfo {
+    private final VariableElement field;
+    private final TypeElement declaringType;
+    private final Map<String, Object> excelField;
+    private final Map<String, Object> excelMenu;
+    private final String dataType;
+
+    private FieldInfo(VariableElement field, Map<String, Object> excelField,
+        Map<String, Object> excelMenu, String dataType) {
+      this.field = field;
+      this.declaringType = (TypeElement) field.getEnclosingElement();
+      this.excelField = excelField;
+      this.excelMenu = excelMenu;
+      this.dataType = dataType;
+    }
+
+    private String getName() {
+      return field.getSimpleName().toString();
+    }
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement excelTable = processingEnv.getElementUtils().getTypeElement(EXCEL_TABLE);
+    if (Objects.isNull(excelTable)) {
+      return false;
+    }
+    for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(excelTable))) {
+      if (type.getKind() != ElementKind.CLASS) {
+        continue;
+      }
+      try {
+        generate(type);
+      } catch (IOException e) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+            "can't write " + SUFFIX + " for " + type + ": " + e.getMessage(), type);
+      }
+    }
+    return false;
+  }
+
+  private void generate(TypeElement type) throws IOException {
+    String packageName = getPackage(type).getQualifiedName().toString();
+    if (!isAccessible(type, packageName)) {
+      warning(type, "type is not accessible from its package");
+      return;
+    }
+    Map<String, Object> table = values(findAnnotation(type, EXCEL_TABLE).get());
+    List<FieldInfo> fields = new ArrayList<>();
+    for (TypeElement current = type; Objects.nonNull(current); current = getSuperclass(current)) {
+      for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+        Optional<AnnotationMirror> excelField = findAnnotation(field, EXCEL_FIELD);
+        if (!excelField.isPresent()) {
+          continue;
+        }
+        Map<String, Object> values = values(excelField.get());
+        String dataType = resolveDataType(field, enumName(values.get("dataType")));
+        if (Objects.isNull(dataType)) {
+          warning(field, "can't resolve data type of field " + field.getSimpleName());
+          return;
+        }
+        if (!isAccessible(current, packageName)) {
+          warning(field, "declaring type of field " + field.getSimpleName() + " is not accessible");
+          return;
+        }
+        fields.add(new FieldInfo(field, values,
+            values((AnnotationMirror) values.get("menu")), dataType));
+      }
+    }
+
+    String simpleName = getBinaryName(type, packageName).replace('$', '_') + SUFFIX;
+    String typeName = getRawName(type);
+    Map<String, String> writers = findWriters(type, packageName, fields);
+
+    StringBuilder source = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source.append("import java.lang.reflect.Field;\n")
+        .append("import java.util.ArrayList;\n")
+        .append("import java.util.List;\n")
+        .append("import java.util.Map;\n")
+        .append("import com.github.liudaomanbu.excel.config.MenuConfig;\n")
+        .append("import com.github.liudaomanbu.excel.config.MenuDataConfig;\n")
+        .append("import com.github.liudaomanbu.excel.config.TableBinder;\n")
+        .append("import com.github.liudaomanbu.excel.config.TableConfig;\n")
+        .append("import com.github.liudaomanbu.excel.config.TableConfigFactory;\n")
+        .append("import com.github.liudaomanbu.excel.constant.Direction;\n")
+        .append("import com.github.liudaomanbu.excel.constant.LoadType;\n")
+        .append("import com.github.liudaomanbu.excel.constant.MenuSearchType;\n")
+        .append("import com.github.liudaomanbu.excel.constant.Necessity;\n")
+        .append("import com.github.liudaomanbu.excel.matcher.constant.StringMatcherType;\n")
+        .append("import com.github.liudaomanbu.excel.matcher.data.type.BaseDataType;\n")
+        .append("import com.github.liudaomanbu.excel.matcher.usermodel.StandardCellMatcher;\n")
+        .append("import com.github.liudaomanbu.excel.parse.result.Menu;\n")
+        .append("import com.github.liudaomanbu.excel.parse.result.StandardCell;\n\n")
+        .append("// generated by ").append(ExcelTableProcessor.class.getName()).append('\n')
+        .append("public final class ").append(simpleName).append(" implements TableConfigFactory<")
+        .append(typeName).append(">");
+    // 不能直接绑定时不实现TableBinder,由BeanBinder反射绑定
+    if (Objects.nonNull(writers)) {
+      source.append(", TableBinder<").append(typeName).append(">");
+    }
+    source.append(" {\n");
+
+    source.append("  private static Field field(Class<?> type, String name) {\n")
+        .append("    try {\n")
+        .append("      return type.getDeclaredField(name);\n")
+        .append("    } catch (NoSuchFieldException e) {\n")
+        .append("      throw new IllegalStateException(e);\n")
+        .append("    }\n")
+        .append("  }\n\n");
+
+    source.append("  @Override\n")
+        .append("  public TableConfig.Builder createTableConfigBuilder() {\n")
+        .append("    List<MenuConfig.Builder> menuConfigBuilders = new ArrayList<>();\n");
+    for (FieldInfo field : fields) {
+      String menuName = literal((String) field.excelMenu.get("value"));
+      source.append("    menuConfigBuilders.add(MenuConfig.builder().setId(").append(menuName)
+          .append(")\n")
+          .append("        .setMatcher(new StandardCellMatcher().addStringValuePredicate(")
+          .append("StringMatcherType.").append(enumName(field.excelMenu.get("valueMatcherType")))
+          .append(", ").append(menuName).append("))\n")
+          .append("        .setDirection(Direction.")
+          .append(enumName(field.excelMenu.get("direction"))).append(")")
+          .append(".setDistance(").append(field.excelMenu.get("distance")).append(")")
+          .append(".setNecessity(Necessity.").append(enumName(field.excelMenu.get("necessity")))
+          .append(")\n")
+          .append("        .setDataConfigBuilder(MenuDataConfig.builder().setLoadType(LoadType.")
+          .append(enumName(field.excelField.get("loadType"))).append(")")
+          .append(".setDataType(BaseDataType.").append(field.dataType).append(")\n")
+          .append("            .setField(field(").append(getRawName(field.declaringType))
+          .append(".class, ").append(literal(field.getName())).append("))")
+          .append(".setFieldName(").append(literal(field.getName())).append(")));\n");
+    }
+    source.append("    return TableConfig.builder().setId(").append(typeName).append(".class)")
+        .append(".setTopMenuConfigBuilders(menuConfigBuilders)\n")
+        .append("        .setMenuSearchType(MenuSearchType.")
+        .append(enumName(table.get("menuSearchType"))).append(");\n")
+        .append("  }\n");
+
+    if (Objects.nonNull(writers)) {
+      source.append("\n  @Override\n")
+          .append("  public ").append(typeName)
+          .append(" bind(Map<Menu, StandardCell> menuToValueCell) {\n")
+          .append("    ").append(typeName).append(" bean = new ").append(typeName)
+          .append("();\n")
+          .append("    for (Map.Entry<Menu, StandardCell> entry : menuToValueCell.entrySet()) {\n")
+          .append("      Menu menu = entry.getKey();\n")
+          .append("      StandardCell cell = entry.getValue();\n")
+          .append("      switch (String.valueOf(menu.getFieldName())) {\n");
+      writers.forEach((name, writer) -> source.append("        case ").append(literal(name))
+          .append(": {\n").append(writer).append("          break;\n").append("        }\n"));
+      // 与fastjson一致,没有对应属性的菜单不写入
+      source.append("        default:\n")
+          .append("          break;\n")
+          .append("      }\n")
+          .append("    }\n")
+          .append("    return bean;\n")
+          .append("  }\n");
+    }
+    source.append("}\n");
+
+    String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    try (Writer writer =
+        processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+      writer.write(source.toString());
+    }
+  }
+
+  // 与BeanBinder一致,setter优先于字段;无法直接创建对象或写入任一属性时返回null
+  private Map<String, String> findWriters(TypeElement type, String packageName,
+      List<FieldInfo> fields) {
+    if (type.getModifiers().contains(Modifier.ABSTRACT) || !hasDefaultConstructor(type)) {
+      return null;
+    }
+    Map<String, String> writers = new LinkedHashMap<>();
+    for (FieldInfo field : fields) {
+      String name = field.getName();
+      if (writers.containsKey(name)) {
+        continue;
+      }
+      TypeMirror fieldType = field.field.asType();
+      String valueType = getBoxedName(fieldType);
+      String value = "          " + valueType + " value = TableBinder.getValue(menu, cell, "
+          + valueType + ".class);\n";
+      String assign = fieldType.getKind().isPrimitive() ? "          if (value != null) {\n"
+          + "            %s;\n" + "          }\n" : "          %s;\n";
+      Optional<ExecutableElement> setter = findSetter(type, packageName, field.field);
+      if (setter.isPresent()) {
+        writers.put(name, value + String.format(assign,
+            "bean." + setter.get().getSimpleName() + "(value)"));
+      } else if (isWritable(field.field, packageName)) {
+        writers.put(name, value + String.format(assign, "bean." + name + " = value"));
+      } else {
+        return null;
+      }
+    }
+    return writers;
+  }
+
+  private boolean hasDefaultConstructor(TypeElement type) {
+    return ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+        .anyMatch(constructor -> constructor.getParameters().isEmpty()
+            && !constructor.getModifiers().contains(Modifier.PRIVATE));
+  }
+
+  private Optional<ExecutableElement> findSetter(TypeElement type, String packageName,
+      VariableElement field) {
+    String name = field.getSimpleName().toString();
+    String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    for (TypeElement current = type; Objects.nonNull(current); current = getSuperclass(current)) {
+      for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+        if (method.getSimpleName().contentEquals(setterName)
+            && method.getParameters().size() == 1
+            && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(),
+                field.asType())
+            && !method.getModifiers().contains(Modifier.STATIC)
+            && isVisible(method, current, packageName)) {
+          return Optional.of(method);
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  private boolean isWritable(VariableElement field, String packageName) {
+    Set<Modifier> modifiers = field.getModifiers();
+    return !modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.FINAL)
+        && isVisible(field, (TypeElement) field.getEnclosingElement(), packageName);
+  }
+
+  private boolean isVisible(Element element, TypeElement declaringType, String packageName) {
+    Set<Modifier> modifiers = element.getModifiers();
+    if (modifiers.contains(Modifier.PUBLIC)) {
+      return true;
+    }
+    return !modifiers.contains(Modifier.PRIVATE)
+        && getPackage(declaringType).getQualifiedName().contentEquals(packageName);
+  }
+
+  private boolean isAccessible(TypeElement type, String packageName) {
+    for (Element element = type; element instanceof TypeElement;
+        element = element.getEnclosingElement()) {
+      TypeElement current = (TypeElement) element;
+      if (!isVisible(current, current, packageName)) {
+        return false;
+      }
+      if (current.getNestingKind() == NestingKind.MEMBER
+          && !current.getModifiers().contains(Modifier.STATIC)) {
+        return false;
+      }
+      if (current.getNestingKind() == NestingKind.LOCAL
+          || current.getNestingKind() == NestingKind.ANONYMOUS) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String resolveDataType(VariableElement field, String dataType) {
+    String typeName = getRawName(field.asType());
+    if (STRING.equals(typeName) && "STRING".equals(dataType)) {
+      return dataType;
+    }
+    return TYPE_TO_DATA_TYPES.get(typeName);
+  }
+
+  private TypeElement getSuperclass(TypeElement type) {
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+    return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+  }
+
+  private PackageElement getPackage(Element element) {
+    return processingEnv.getElementUtils().getPackageOf(element);
+  }
+
+  private String getBinaryName(TypeElement type, String packageName) {
+    String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+    return packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+  }
+
+  private String getBoxedName(TypeMirror type) {
+    return type.getKind().isPrimitive()
+        ? getRawName(processingEnv.getTypeUtils()
+            .boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())))
+        : getRawName(type);
+  }
+
+  private static String getRawName(TypeElement type) {
+    return type.getQualifiedName().toString();
+  }
+
+  private static String getRawName(TypeMirror type) {
+    if (type.getKind() == TypeKind.DECLARED) {
+      return getRawName((TypeElement) ((DeclaredType) type).asElement());
+    }
+    return type.toString();
+  }
+
+  private Optional<AnnotationMirror> findAnnotation(Element element, String annotationName) {
+    return processingEnv.getElementUtils().getAllAnnotationMirrors(element).stream()
+        .filter(mirror -> getRawName(mirror.getAnnotationType()).equals(annotationName))
+        .map(mirror -> (AnnotationMirror) mirror).findFirst();
+  }
+
+  // 包含未显式指定的默认值
+  private Map<String, Object> values(AnnotationMirror mirror) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).forEach(
+        (element, value) -> values.put(element.getSimpleName().toString(), value.getValue()));
+    return values;
+  }
+
+  private static String enumName(Object value) {
+    return ((VariableElement) value).getSimpleName().toString();
+  }
+
+  private void warning(Element element, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+        "skip " + SUFFIX + ", " + message, element);
+  }
+
+  private static String literal(String value) {
+    StringBuilder builder = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        builder.append('\\').append(c);
+      } else if (c < 0x20 || c > 0x7e) {
+        builder.append(String.format("\\u%04x", (int) c));
+      } else {
+        builder.append(c);
+      }
+    }
+    return builder.append('"').toString();
+  }
+}
@@ -0,0 +1,108 @@
+package com.github.liudaomanbu.excel.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import com.github.liudaomanbu.excel.config.TableBinder;
+import com.github.liudaomanbu.excel.config.TableConfigFactory;
+import junit.framework.TestCase;
+
+// 在编译期运行ExcelTableProcessor,检查生成的TableConfigFactory能编译并按是否可绑定实现TableBinder
+public class ExcelTableProcessorTest extends TestCase {
+  private static class Source extends SimpleJavaFileObject {
+    private final String content;
+
+    private Source(String className, String content) {
+      super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension),
+          Kind.SOURCE);
+      this.content = content;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return content;
+    }
+  }
+
+  private static final String IMPORTS = "import com.github.liudaomanbu.excel.annotation.*;\n";
+
+  private Path classes;
+  private Path sources;
+
+  @Override
+  protected void setUp() throws IOException {
+    classes = Files.createTempDirectory("classes");
+    sources = Files.createTempDirectory("sources");
+  }
+
+  private Class<?> compile(String className, String source) throws Exception {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+        Arrays.asList("-d", classes.toString(), "-s", sources.toString(), "-classpath",
+            System.getProperty("java.class.path")),
+        null, Collections.singletonList(new Source(className, source)));
+    task.setProcessors(Collections.singletonList(new ExcelTableProcessor()));
+    boolean success = task.call();
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+      assertFalse(diagnostic.toString(), diagnostic.getKind() == Diagnostic.Kind.ERROR);
+    }
+    assertTrue(success);
+    URLClassLoader classLoader = new URLClassLoader(new URL[] {classes.toUri().toURL()},
+        getClass().getClassLoader());
+    return classLoader.loadClass(className + TableConfigFactory.SUFFIX);
+  }
+
+  private String readGenerated(String className) throws IOException {
+    Path path = sources.resolve(className.replace('.', File.separatorChar)
+        + TableConfigFactory.SUFFIX + ".java");
+    return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+  }
+
+  public void testBindableTable() throws Exception {
+    Class<?> factoryType = compile("sample.User", "package sample;\n" + IMPORTS
+        + "@ExcelTable\n"
+        + "public class User {\n"
+        + "  @ExcelField(menu = @ExcelMenu(\"姓名\")) private String name;\n"
+        + "  @ExcelField(menu = @ExcelMenu(\"年龄\")) public int age;\n"
+        + "  public void setName(String name) { this.name = name; }\n"
+        + "}\n");
+    assertTrue(TableConfigFactory.class.isAssignableFrom(factoryType));
+    assertTrue(TableBinder.class.isAssignableFrom(factoryType));
+    TableConfigFactory<?> factory =
+        (TableConfigFactory<?>) factoryType.getDeclaredConstructor().newInstance();
+    assertNotNull(factory.createTableConfigBuilder());
+
+    String generated = readGenerated("sample.User");
+    assertTrue(generated.contains("bean.setName(value);"));
+    assertTrue(generated.contains("bean.age = value;"));
+    // 没有对应属性的菜单直接跳过,不再整体转交fastjson
+    assertTrue(generated.contains("default:\n          break;"));
+    assertFalse(generated.contains("toJavaObject"));
+  }
+
+  public void testUnbindableTable() throws Exception {
+    Class<?> factoryType = compile("sample.Immutable", "package sample;\n" + IMPORTS
+        + "@ExcelTable\n"
+        + "public class Immutable {\n"
+        + "  @ExcelField(menu = @ExcelMenu(\"姓名\")) private final String name;\n"
+        + "  private Immutable(String name) { this.name = name; }\n"
+        + "}\n");
+    assertTrue(TableConfigFactory.class.isAssignableFrom(factoryType));
+    assertFalse(TableBinder.class.isAssignableFrom(factoryType));
+    assertFalse(readGenerated("sample.Immutable").contains(" bind("));
+  }
+}
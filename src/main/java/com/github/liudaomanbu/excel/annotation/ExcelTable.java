@@ -5,10 +5,11 @@ import java.lang.annotation.Inherited;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import com.github.liudaomanbu.excel.constant.MenuSearchType;
 
 @Target({ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 @Inherited
 public @interface ExcelTable {
-
+  MenuSearchType menuSearchType() default MenuSearchType.ALL;
 }
\ No newline at end of file
@@ -1,33 +1,66 @@
 package com.github.liudaomanbu.excel.base.function;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
 import java.util.function.Supplier;
+import com.github.liudaomanbu.excel.util.ClassUtil;
 import com.google.common.reflect.Invokable;
 
 public class InvokableSupplier<T> implements Supplier<T> {
   public static <T> InvokableSupplier<T> of(Invokable<?, T> invokable) {
-    return new InvokableSupplier<T>(invokable);
+    return new InvokableSupplier<T>(invokable, null);
   }
 
   public static <T> InvokableSupplier<T> of(Constructor<T> constructor) {
-    return of(Invokable.from(constructor));
+    return new InvokableSupplier<T>(Invokable.from(constructor),
+        ClassUtil.unreflectConstructor(constructor).orElse(null));
   }
   
   @SuppressWarnings("unchecked")
   public static <T> InvokableSupplier<T> of(Method method) {
-    return of((Invokable<?, T>)Invokable.from(method));
+    MethodHandle handle = null;
+    // 实例方法的handle需要接收者参数,只有静态方法能转换为()Object
+    if (Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 0) {
+      try {
+        handle = MethodHandles.lookup().unreflect(method)
+            .asType(MethodType.methodType(Object.class));
+      } catch (IllegalAccessException e) {
+        // 不可访问时退回反射调用,由Invokable按原方式报告
+        handle = null;
+      }
+    }
+    return new InvokableSupplier<T>((Invokable<?, T>) Invokable.from(method), handle);
   }
   
-  private Invokable<?, T> invokable;
+  private final Invokable<?, T> invokable;
+  // 无参静态方法且可访问时使用()Object的MethodHandle调用,否则为null,退回反射调用
+  private final MethodHandle handle;
 
-  private InvokableSupplier(Invokable<?, T> invokable) {
+  private InvokableSupplier(Invokable<?, T> invokable, MethodHandle handle) {
     this.invokable = invokable;
+    this.handle = handle;
   }
 
+  @SuppressWarnings("unchecked")
   @Override
   public T get() {
+    if (Objects.nonNull(handle)) {
+      try {
+        return (T) handle.invokeExact();
+      } catch (Error e) {
+        throw e;
+      } catch (Throwable e) {
+        // 与反射调用时的InvocationTargetException处理一致
+        e.printStackTrace();
+      }
+      return null;
+    }
     try {
       return invokable.invoke(null);
     } catch (InvocationTargetException | IllegalAccessException e) {
@@ -149,7 +149,7 @@ public class MenuDataConfig {
   private Validator<StandardCell> createDataTypeValidator() {
     return new BaseValidator<StandardCell>(
         ImmutableMap.<Predicate<StandardCell>, Function<StandardCell, String>>builder()
-            .put(cell -> dataType.test(cell.getValue()), cell -> JOINER.join(cell.formatAsString(),
+            .put(dataType::test, cell -> JOINER.join(cell.formatAsString(),
                 "不符合", DATA_TYPE_TO_TIPS.get(dataType), "格式"))
             .build());
   }
@@ -21,8 +21,15 @@ import com.google.common.reflect.TypeToken;
 public class ParserConfig {
   public static final ParserConfig GLOBAL = new ParserConfig();
 
-  private final Map<Class<?>, Supplier<?>> classToSuppliers = Maps.newHashMap();
-  private final Map<Class<?>, ConstructType> classToConstructTypes = Maps.newHashMap();
+  // 可能被并发解析的多个sheet同时访问
+  private final Map<Class<?>, Supplier<?>> classToSuppliers = Maps.newConcurrentMap();
+  private final Map<Class<?>, ConstructType> classToConstructTypes = Maps.newConcurrentMap();
+  // 解析结果只取决于原始类型,按原始类型缓存,泛型参数不同的TypeToken共用一项
+  // 修改配置时整体替换,避免并发计算写回过期结果
+  private volatile Map<Class<?>, ConstructType> rawTypeToConstructTypes =
+      Maps.newConcurrentMap();
+  private volatile Map<Class<?>, Optional<Supplier<?>>> rawTypeToSuppliers =
+      Maps.newConcurrentMap();
 
   public ParserConfig() {
     setSupplier(List.class, Lists::newArrayList);
@@ -40,6 +47,7 @@ public class ParserConfig {
 
   public <T> void setConstructType(Class<T> type, ConstructType constructType) {
     classToConstructTypes.put(type, constructType);
+    rawTypeToConstructTypes = Maps.newConcurrentMap();
   }
 
   public <T> ConstructType getConstructType(Class<T> type) {
@@ -47,11 +55,16 @@ public class ParserConfig {
   }
 
   public <T> ConstructType getConstructType(TypeToken<T> token) {
-    if (token.isArray()) {
+    return rawTypeToConstructTypes.computeIfAbsent(token.getRawType(),
+        this::resolveConstructType);
+  }
+
+  private ConstructType resolveConstructType(Class<?> rawType) {
+    if (rawType.isArray()) {
       return ConstructType.ITERABLE;
     }
     // 父子关系生效?
-    Optional<ConstructType> optional = token.getTypes().rawTypes().stream().filter(
+    Optional<ConstructType> optional = TypeToken.of(rawType).getTypes().rawTypes().stream().filter(
         type -> classToConstructTypes.containsKey(type))
         .findFirst().map(classToConstructTypes::get);
     return optional.orElse(ConstructType.OBJECT);
@@ -59,6 +72,7 @@ public class ParserConfig {
 
   public <T> void setSupplier(Class<T> type, Supplier<T> supplier) {
     classToSuppliers.put(type, supplier);
+    rawTypeToSuppliers = Maps.newConcurrentMap();
   }
 
   public <T> Optional<Supplier<T>> getSupplier(Class<T> type) {
@@ -67,12 +81,16 @@ public class ParserConfig {
 
   @SuppressWarnings("unchecked")
   public <T> Optional<Supplier<T>> getSupplier(TypeToken<T> token) {
+    return rawTypeToSuppliers.computeIfAbsent(token.getRawType(), this::resolveSupplier)
+        .map(supplier -> (Supplier<T>) supplier);
+  }
+
+  private Optional<Supplier<?>> resolveSupplier(Class<?> rawType) {
     // 父子关系生效?
-    Optional<Supplier<T>> optional =
-        token.getTypes().rawTypes().stream().filter(classToSuppliers::containsKey).findFirst()
-            .map(classToSuppliers::get).map(supplier -> (Supplier<T>) supplier);
+    Optional<Supplier<?>> optional = TypeToken.of(rawType).getTypes().rawTypes().stream()
+        .filter(classToSuppliers::containsKey).findFirst().map(classToSuppliers::get);
     return optional.isPresent() ? optional
-        : ClassUtil.getDefaultConstructor((Class<T>) token.getRawType()).map(InvokableSupplier::of);
+        : ClassUtil.getDefaultConstructor(rawType).map(InvokableSupplier::of);
   }
 
   public <T> Optional<T> newInstance(Class<T> type) {
@@ -0,0 +1,26 @@
+package com.github.liudaomanbu.excel.config;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Objects;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.TypeUtils;
+import com.github.liudaomanbu.excel.parse.result.Menu;
+import com.github.liudaomanbu.excel.parse.result.StandardCell;
+
+// 由data-excel-processor生成的TableConfigFactory在能直接创建对象并写入全部属性时同时实现,
+// BeanBinder优先使用,否则仍反射绑定
+public interface TableBinder<T> {
+  // 与BeanBinder一致,先按菜单的DataType转换为字段类型,再转换为属性类型
+  static <V> V getValue(Menu menu, StandardCell cell, Class<V> type) {
+    Field field = menu.getField();
+    Object value = Objects.isNull(field) ? cell.getValue()
+        : menu.getData().getConfig().getDataType().cast(cell, field.getType());
+    if (Objects.nonNull(value) && !type.isInstance(value)) {
+      value = TypeUtils.cast(value, type, ParserConfig.getGlobalInstance());
+    }
+    return type.cast(value);
+  }
+
+  T bind(Map<Menu, StandardCell> menuToValueCell);
+}
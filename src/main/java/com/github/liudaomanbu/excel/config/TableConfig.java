@@ -1,12 +1,18 @@
 package com.github.liudaomanbu.excel.config;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
 import org.apache.poi.ss.usermodel.Sheet;
 import com.github.liudaomanbu.excel.constant.Direction;
+import com.github.liudaomanbu.excel.constant.MenuSearchType;
+import com.github.liudaomanbu.excel.handler.RowHandler;
+import com.github.liudaomanbu.excel.matcher.MatcherIndex;
+import com.github.liudaomanbu.excel.parse.result.StandardCell;
 import com.github.liudaomanbu.excel.parse.result.Table;
 import com.github.liudaomanbu.excel.validator.Validator;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -23,6 +29,11 @@ public class TableConfig extends Config {
     private TableDataConfig.Builder dataConfigBuilder;
     private List<Validator<Table>> validators;
     private ParserConfig parserConfig;
+    private MenuSearchType menuSearchType;
+    private Integer menuSearchRowLimit;
+    private Integer menuSearchColumnLimit;
+    private Class<?> rowType;
+    private RowHandler<?> rowHandler;
 
     public Builder() {
       topMenuConfigBuilders = Lists.newLinkedList();
@@ -93,9 +104,51 @@ public class TableConfig extends Config {
       return this;
     }
 
+    public MenuSearchType getMenuSearchType() {
+      return menuSearchType;
+    }
+
+    public Builder setMenuSearchType(MenuSearchType menuSearchType) {
+      this.menuSearchType = menuSearchType;
+      return this;
+    }
+
+    public Integer getMenuSearchRowLimit() {
+      return menuSearchRowLimit;
+    }
+
+    public Builder setMenuSearchRowLimit(Integer menuSearchRowLimit) {
+      this.menuSearchRowLimit = menuSearchRowLimit;
+      return this;
+    }
+
+    public Integer getMenuSearchColumnLimit() {
+      return menuSearchColumnLimit;
+    }
+
+    public Builder setMenuSearchColumnLimit(Integer menuSearchColumnLimit) {
+      this.menuSearchColumnLimit = menuSearchColumnLimit;
+      return this;
+    }
+
+    public Class<?> getRowType() {
+      return rowType;
+    }
+
+    public RowHandler<?> getRowHandler() {
+      return rowHandler;
+    }
+
+    public <T> Builder setRowHandler(Class<T> rowType, RowHandler<? super T> rowHandler) {
+      this.rowType = rowType;
+      this.rowHandler = rowHandler;
+      return this;
+    }
+
   }
 
   public static final Direction DEFAULT_MENU_DIRECTION = Direction.BOTTOM;
+  public static final MenuSearchType DEFAULT_MENU_SEARCH_TYPE = MenuSearchType.ALL;
 
   public static Builder builder() {
     return new Builder();
@@ -104,9 +157,18 @@ public class TableConfig extends Config {
   private final SheetConfig sheetConfig;
   private final Direction menuDirection;
   private final ImmutableCollection<MenuConfig> topMenuConfigs;
+  // 顶级菜单匹配器索引
+  private final MatcherIndex<StandardCell, MenuConfig> topMenuConfigIndex;
   private final ImmutableList<Validator<Table>> validators;
   private final TableDataConfig dataConfig;
   private final ParserConfig parserConfig;
+  private final MenuSearchType menuSearchType;
+  // 顶级菜单搜索范围,从sheet第一行起的行数与从第一列起的列数,null表示不限制
+  private final Integer menuSearchRowLimit;
+  private final Integer menuSearchColumnLimit;
+  // 每行数据转换为rowType后交给rowHandler,为null时不回调
+  private final Class<?> rowType;
+  private final RowHandler<?> rowHandler;
 
   private final Traverser<MenuConfig> MENU_CONFIG_TRAVERSER =
       Traverser.forTree(new SuccessorsFunction<MenuConfig>() {
@@ -123,9 +185,23 @@ public class TableConfig extends Config {
     topMenuConfigs = builder.topMenuConfigBuilders.stream()
         .peek(topMenuConfigBuilder -> topMenuConfigBuilder.setTableConfig(this))
         .map(MenuConfig.Builder::build).collect(ImmutableSet.toImmutableSet());
+    topMenuConfigIndex = new MatcherIndex<>(topMenuConfigs, MenuConfig::getMatcher);
     validators = builder.validators.stream().collect(ImmutableList.toImmutableList());
-    dataConfig = builder.dataConfigBuilder.build();
+    dataConfig = Optional.ofNullable(builder.dataConfigBuilder)
+        .orElseGet(TableDataConfig.Builder::new).setTableConfig(this).build();
     parserConfig = builder.parserConfig;
+    menuSearchType = Optional.ofNullable(builder.menuSearchType).orElse(DEFAULT_MENU_SEARCH_TYPE);
+    Preconditions.checkArgument(
+        Objects.isNull(builder.menuSearchRowLimit) || builder.menuSearchRowLimit > 0);
+    Preconditions.checkArgument(
+        Objects.isNull(builder.menuSearchColumnLimit) || builder.menuSearchColumnLimit > 0);
+    menuSearchRowLimit = builder.menuSearchRowLimit;
+    menuSearchColumnLimit = builder.menuSearchColumnLimit;
+    Preconditions.checkArgument(
+        Objects.isNull(builder.rowHandler) == Objects.isNull(builder.rowType),
+        "rowType and rowHandler must be set together");
+    rowType = builder.rowType;
+    rowHandler = builder.rowHandler;
   }
 
   public Table.Builder parse(Sheet sheet) {
@@ -156,6 +232,10 @@ public class TableConfig extends Config {
     return topMenuConfigs;
   }
 
+  public MatcherIndex<StandardCell, MenuConfig> getTopMenuConfigIndex() {
+    return topMenuConfigIndex;
+  }
+
 
   public Direction getMenuDirection() {
     return menuDirection;
@@ -173,4 +253,24 @@ public class TableConfig extends Config {
     return validators;
   }
 
+  public MenuSearchType getMenuSearchType() {
+    return menuSearchType;
+  }
+
+  public Integer getMenuSearchRowLimit() {
+    return menuSearchRowLimit;
+  }
+
+  public Integer getMenuSearchColumnLimit() {
+    return menuSearchColumnLimit;
+  }
+
+  public Class<?> getRowType() {
+    return rowType;
+  }
+
+  public RowHandler<?> getRowHandler() {
+    return rowHandler;
+  }
+
 }
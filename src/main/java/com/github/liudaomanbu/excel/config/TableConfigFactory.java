@@ -0,0 +1,9 @@
+package com.github.liudaomanbu.excel.config;
+
+// 由data-excel-processor在编译期为@ExcelTable类生成,类名为原类名(嵌套类以_连接)加SUFFIX,
+// 存在时ExcelUtil.parseToTableConfig直接使用,不再反射读取注解
+public interface TableConfigFactory<T> {
+  String SUFFIX = "_TableConfigFactory";
+
+  TableConfig.Builder createTableConfigBuilder();
+}
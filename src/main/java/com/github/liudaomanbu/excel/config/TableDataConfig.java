@@ -2,20 +2,37 @@ package com.github.liudaomanbu.excel.config;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 import com.github.liudaomanbu.excel.constant.ConstructType;
+import com.github.liudaomanbu.excel.matcher.Matcher;
 import com.github.liudaomanbu.excel.parse.result.Menu;
 import com.github.liudaomanbu.excel.parse.result.StandardCell;
 import com.github.liudaomanbu.excel.validator.JavaxValidator;
 import com.github.liudaomanbu.excel.validator.Validator;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 public class TableDataConfig {
 
   public static class Builder {
     private TableConfig tableConfig;
     private ConstructType constructType;
+    // 流式模式下不保存行数据与校验结果,按需遍历,遍历时逐行读取值单元格,只保留当前行
+    private boolean streaming;
+    // 分段并行校验与转换数据,各段依次读取本段的值单元格,处理与后续段的读取并行
+    private ForkJoinPool forkJoinPool;
+    private Integer parallelThreshold;
+    // 只加载、校验与转换这些字段的数据菜单,为null时处理全部数据菜单
+    private Set<String> projection;
+    // 行组装后立即过滤,不满足的行不做校验与转换
+    private Matcher<Map<Menu, StandardCell>> rowMatcher;
     private List<Validator<Map<Menu, StandardCell>>> validators;
 
     public Builder() {
@@ -50,6 +67,51 @@ public class TableDataConfig {
       return this;
     }
 
+    public boolean isStreaming() {
+      return streaming;
+    }
+
+    public Builder setStreaming(boolean streaming) {
+      this.streaming = streaming;
+      return this;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+      return forkJoinPool;
+    }
+
+    public Builder setForkJoinPool(ForkJoinPool forkJoinPool) {
+      this.forkJoinPool = forkJoinPool;
+      return this;
+    }
+
+    public Integer getParallelThreshold() {
+      return parallelThreshold;
+    }
+
+    public Builder setParallelThreshold(Integer parallelThreshold) {
+      this.parallelThreshold = parallelThreshold;
+      return this;
+    }
+
+    public Set<String> getProjection() {
+      return projection;
+    }
+
+    public Builder setProjection(Set<String> projection) {
+      this.projection = projection;
+      return this;
+    }
+
+    public Matcher<Map<Menu, StandardCell>> getRowMatcher() {
+      return rowMatcher;
+    }
+
+    public Builder setRowMatcher(Matcher<Map<Menu, StandardCell>> rowMatcher) {
+      this.rowMatcher = rowMatcher;
+      return this;
+    }
+
     public List<Validator<Map<Menu, StandardCell>>> getValidators() {
       return validators;
     }
@@ -61,14 +123,37 @@ public class TableDataConfig {
 
   }
 
+  // 并行处理时每段的行数
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
   private final TableConfig tableConfig;
   private final ConstructType constructType;
+  private final boolean streaming;
+  private final ForkJoinPool forkJoinPool;
+  private final int parallelThreshold;
+  private final ImmutableSet<String> projection;
+  // 为null时不过滤
+  private final Predicate<Map<Menu, StandardCell>> rowMatcher;
   private final ImmutableList<Validator<Map<Menu, StandardCell>>> validators;
 
   protected TableDataConfig(Builder builder) {
     constructType = builder.constructType;
     tableConfig = builder.tableConfig;
+    streaming = builder.streaming;
+    forkJoinPool = builder.forkJoinPool;
+    parallelThreshold =
+        Optional.ofNullable(builder.parallelThreshold).orElse(DEFAULT_PARALLEL_THRESHOLD);
+    Preconditions.checkArgument(parallelThreshold > 0, "parallelThreshold must be positive");
     Preconditions.checkNotNull(tableConfig, "tableConfig can't be null");
+    projection = Optional.ofNullable(builder.projection).map(ImmutableSet::copyOf).orElse(null);
+    if (Objects.nonNull(projection)) {
+      // 字段名写错时直接报错,避免静默丢弃该列
+      ImmutableSet<String> fieldNames = tableConfig.getMenuConfigs().map(MenuConfig::getFieldName)
+          .filter(Objects::nonNull).collect(ImmutableSet.toImmutableSet());
+      Preconditions.checkArgument(fieldNames.containsAll(projection),
+          "unknown fields in projection: %s", Sets.difference(projection, fieldNames));
+    }
+    rowMatcher = Optional.ofNullable(builder.rowMatcher).map(Matcher::reduce).orElse(null);
     validators = builder.validators.stream().collect(ImmutableList.toImmutableList());
   }
 
@@ -80,6 +165,30 @@ public class TableDataConfig {
     return tableConfig;
   }
 
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  public ForkJoinPool getForkJoinPool() {
+    return forkJoinPool;
+  }
+
+  public int getParallelThreshold() {
+    return parallelThreshold;
+  }
+
+  public ImmutableSet<String> getProjection() {
+    return projection;
+  }
+
+  public boolean isProjected(Menu menu) {
+    return Objects.isNull(projection) || projection.contains(menu.getFieldName());
+  }
+
+  public Predicate<Map<Menu, StandardCell>> getRowMatcher() {
+    return rowMatcher;
+  }
+
   public ImmutableList<Validator<Map<Menu, StandardCell>>> getValidators() {
     return validators;
   }
@@ -2,7 +2,9 @@ package com.github.liudaomanbu.excel.config;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import org.apache.poi.ss.usermodel.Workbook;
+import com.github.liudaomanbu.excel.constant.EngineType;
 import com.github.liudaomanbu.excel.parse.result.WorkbookParseResult;
 import com.github.liudaomanbu.excel.validator.Validator;
 import com.google.common.collect.ImmutableCollection;
@@ -15,6 +17,8 @@ public class WorkbookConfig {
     private List<SheetConfig.Builder> sheetConfigBuilders;
     private List<Validator<Workbook>> validators;
     private ParserConfig parserConfig;
+    private EngineType engineType;
+    private Executor executor;
 
     public Builder() {
       sheetConfigBuilders = Lists.newLinkedList();
@@ -44,6 +48,24 @@ public class WorkbookConfig {
       return this;
     }
 
+    public EngineType getEngineType() {
+      return engineType;
+    }
+
+    public Builder setEngineType(EngineType engineType) {
+      this.engineType = engineType;
+      return this;
+    }
+
+    public Executor getExecutor() {
+      return executor;
+    }
+
+    public Builder setExecutor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
     public List<SheetConfig.Builder> getSheetConfigBuilders() {
       return sheetConfigBuilders;
     }
@@ -55,6 +77,8 @@ public class WorkbookConfig {
 
   }
 
+  public static final EngineType DEFAULT_ENGINE_TYPE = EngineType.USER_MODEL;
+
   public static Builder builder() {
     return new Builder();
   }
@@ -62,6 +86,9 @@ public class WorkbookConfig {
   private final ImmutableCollection<SheetConfig> sheetConfigs;
   private final ImmutableList<Validator<Workbook>> validators;
   private final ParserConfig parserConfig;
+  private final EngineType engineType;
+  // 并发解析各个sheet,为null时依次解析
+  private final Executor executor;
 
   private WorkbookConfig(Builder builder) {
     sheetConfigs = builder.sheetConfigBuilders.stream()
@@ -69,6 +96,8 @@ public class WorkbookConfig {
         .map(SheetConfig.Builder::build).collect(ImmutableSet.toImmutableSet());
     validators = builder.validators.stream().collect(ImmutableList.toImmutableList());
     parserConfig = builder.parserConfig;
+    engineType = Optional.ofNullable(builder.engineType).orElse(DEFAULT_ENGINE_TYPE);
+    executor = builder.executor;
   }
 
   public WorkbookParseResult parse(Workbook workbook) {
@@ -91,4 +120,12 @@ public class WorkbookConfig {
     return validators;
   }
 
+  public EngineType getEngineType() {
+    return engineType;
+  }
+
+  public Executor getExecutor() {
+    return executor;
+  }
+
 }
@@ -1,11 +1,13 @@
 package com.github.liudaomanbu.excel.constant;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellRangeAddressBase;
 import com.github.liudaomanbu.excel.parse.result.StandardCell;
+import com.github.liudaomanbu.excel.parse.result.StandardCellCache;
 import com.github.liudaomanbu.excel.util.ExcelUtil;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
@@ -107,14 +109,21 @@ public enum Direction {
 
     CellRangeAddress address = nextAddress(original);
 
+    // 与original使用同一次解析的缓存
+    StandardCellCache cache = original.getCache();
     ImmutableList.Builder<StandardCell> cells = ImmutableList.builder();
     for (int rowIndex = address.getFirstRow(); rowIndex <= address.getLastRow(); rowIndex++) {
       for (int columnIndex = address.getFirstColumn(); columnIndex <= address
           .getLastColumn(); columnIndex++) {
+        Optional<CellRangeAddress> mergedRegion = cache.getMergedRegion(rowIndex, columnIndex);
+        // 合并单元格只在其左上角单元格处生成一次
+        if (mergedRegion.isPresent() && (mergedRegion.get().getFirstRow() != rowIndex
+            || mergedRegion.get().getFirstColumn() != columnIndex)) {
+          continue;
+        }
         Cell cell = ExcelUtil.getCellByIndex(original.getSheet(), rowIndex, columnIndex);
-        StandardCell standardCell = StandardCell.valueOf(cell);
-        if (standardCell.getValueCell().equals(cell)) {
-          cells.add(standardCell);
+        if (Objects.nonNull(cell)) {
+          cells.add(cache.get(cell));
         }
       }
     }
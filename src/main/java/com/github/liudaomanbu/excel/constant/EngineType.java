@@ -0,0 +1,74 @@
+package com.github.liudaomanbu.excel.constant;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import com.github.liudaomanbu.excel.eventusermodel.HSSFEventReader;
+import com.github.liudaomanbu.excel.eventusermodel.XSSFEventReader;
+
+public enum EngineType {
+  USER_MODEL {
+    @Override
+    public Workbook create(File file)
+        throws EncryptedDocumentException, InvalidFormatException, IOException {
+      return WorkbookFactory.create(file);
+    }
+
+    @Override
+    public Workbook create(InputStream inputStream)
+        throws EncryptedDocumentException, InvalidFormatException, IOException {
+      return WorkbookFactory.create(inputStream);
+    }
+  },
+  // 事件模型,每个sheet只在内存中保留最近访问的行,不支持的格式退回到USER_MODEL
+  // 加密的xls无法按位置读取sheet,退回到HSSFWorkbook,整个工作簿会读入内存
+  // 加密的xlsx与USER_MODEL一样解密,解密后的文件内容保存在内存中
+  EVENT_MODEL {
+    @Override
+    public Workbook create(File file)
+        throws EncryptedDocumentException, InvalidFormatException, IOException {
+      FileMagic fileMagic;
+      try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+        fileMagic = FileMagic.valueOf(inputStream);
+      }
+      // sheet内容在访问时才读取,文件在workbook关闭时释放
+      if (FileMagic.OOXML.equals(fileMagic)) {
+        return XSSFEventReader.read(OPCPackage.open(file, PackageAccess.READ));
+      }
+      if (FileMagic.OLE2.equals(fileMagic)) {
+        return HSSFEventReader.read(new POIFSFileSystem(file, true));
+      }
+      return USER_MODEL.create(file);
+    }
+
+    @Override
+    public Workbook create(InputStream inputStream)
+        throws EncryptedDocumentException, InvalidFormatException, IOException {
+      InputStream checkedInputStream = FileMagic.prepareToCheckMagic(inputStream);
+      FileMagic fileMagic = FileMagic.valueOf(checkedInputStream);
+      if (FileMagic.OOXML.equals(fileMagic)) {
+        return XSSFEventReader.read(OPCPackage.open(checkedInputStream));
+      }
+      if (FileMagic.OLE2.equals(fileMagic)) {
+        return HSSFEventReader.read(new POIFSFileSystem(checkedInputStream));
+      }
+      return USER_MODEL.create(checkedInputStream);
+    }
+  };
+
+  public abstract Workbook create(File file)
+      throws EncryptedDocumentException, InvalidFormatException, IOException;
+
+  public abstract Workbook create(InputStream inputStream)
+      throws EncryptedDocumentException, InvalidFormatException, IOException;
+}
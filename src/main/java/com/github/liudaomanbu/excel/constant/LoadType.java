@@ -1,5 +1,6 @@
 package com.github.liudaomanbu.excel.constant;
 
+import java.util.Objects;
 import java.util.Optional;
 import com.github.liudaomanbu.excel.parse.result.Menu;
 import com.github.liudaomanbu.excel.parse.result.StandardCell;
@@ -9,18 +10,12 @@ import com.google.common.collect.ImmutableList.Builder;
 public enum LoadType {
   UNFIXED {
     @Override
-    public  ImmutableList<StandardCell> getDataCells(Menu menu) {
+    public Optional<StandardCell> nextDataCell(Menu menu, StandardCell previous) {
       // 此时menu尚未存在table中
       // ImmutableCollection<StandardCell> menuCells =
       // menu.getTable().getMenus().map(Menu::getCell).collect(ImmutableSet.toImmutableSet());
-      Builder<StandardCell> builder = ImmutableList.builder();
-      // stream
-      for (Optional<StandardCell> optional = menu.nextDataCell(menu.getCell()); optional
-          // .filter(cell -> !menuCells.contains(cell))
-          .isPresent(); optional = menu.nextDataCell(optional.get())) {
-        builder.add(optional.get());
-      }
-      return builder.build();
+      return menu.nextDataCell(Objects.isNull(previous) ? menu.getCell() : previous);
+      // .filter(cell -> !menuCells.contains(cell))
     }
 
   },
@@ -46,10 +41,21 @@ public enum LoadType {
 //  },
   SINGLE {
     @Override
-    public  ImmutableList<StandardCell> getDataCells(Menu menu) {
-      return ImmutableList.of(menu.nextDataCell(menu.getCell()).get());
+    public Optional<StandardCell> nextDataCell(Menu menu, StandardCell previous) {
+      return Objects.isNull(previous) ? Optional.of(menu.nextDataCell(menu.getCell()).get())
+          : Optional.empty();
     }
   };
 
-  public abstract  ImmutableList<StandardCell> getDataCells(Menu menu);
+  // 读取previous之后的下一个值单元格,previous为null时读取第一个,逐行组装数据时使用
+  public abstract Optional<StandardCell> nextDataCell(Menu menu, StandardCell previous);
+
+  public ImmutableList<StandardCell> getDataCells(Menu menu) {
+    Builder<StandardCell> builder = ImmutableList.builder();
+    for (Optional<StandardCell> optional = nextDataCell(menu, null); optional
+        .isPresent(); optional = nextDataCell(menu, optional.get())) {
+      builder.add(optional.get());
+    }
+    return builder.build();
+  }
 }
@@ -0,0 +1,41 @@
+package com.github.liudaomanbu.excel.constant;
+
+import java.util.Collection;
+import java.util.Set;
+import com.github.liudaomanbu.excel.config.MenuConfig;
+
+public enum MenuSearchType {
+  // 扫描搜索范围内的所有单元格
+  ALL {
+    @Override
+    public boolean isSearchable(Set<MenuConfig> foundMenuConfigs, MenuConfig menuConfig) {
+      return true;
+    }
+
+    @Override
+    public boolean isCompleted(Collection<MenuConfig> topMenuConfigs,
+        Set<MenuConfig> foundMenuConfigs, boolean rowEnd) {
+      return false;
+    }
+  },
+  // 每个顶级菜单只匹配第一次出现的单元格,全部找到,或已找到菜单且必需菜单所在行扫描完后停止
+  FIRST_MATCH {
+    @Override
+    public boolean isSearchable(Set<MenuConfig> foundMenuConfigs, MenuConfig menuConfig) {
+      return !foundMenuConfigs.contains(menuConfig);
+    }
+
+    @Override
+    public boolean isCompleted(Collection<MenuConfig> topMenuConfigs,
+        Set<MenuConfig> foundMenuConfigs, boolean rowEnd) {
+      return foundMenuConfigs.containsAll(topMenuConfigs)
+          || (rowEnd && !foundMenuConfigs.isEmpty() && topMenuConfigs.stream()
+              .filter(MenuConfig::isMustMenu).allMatch(foundMenuConfigs::contains));
+    }
+  };
+
+  public abstract boolean isSearchable(Set<MenuConfig> foundMenuConfigs, MenuConfig menuConfig);
+
+  public abstract boolean isCompleted(Collection<MenuConfig> topMenuConfigs,
+      Set<MenuConfig> foundMenuConfigs, boolean rowEnd);
+}
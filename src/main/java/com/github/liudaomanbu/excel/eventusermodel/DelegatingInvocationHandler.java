@@ -0,0 +1,22 @@
+package com.github.liudaomanbu.excel.eventusermodel;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import com.google.common.reflect.AbstractInvocationHandler;
+
+// 事件模型的代理,自身处理行与sheet相关的方法,其余方法交给delegate
+abstract class DelegatingInvocationHandler extends AbstractInvocationHandler {
+  private final Object delegate;
+
+  DelegatingInvocationHandler(Object delegate) {
+    this.delegate = delegate;
+  }
+
+  Object invokeDelegate(Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(delegate, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package com.github.liudaomanbu.excel.eventusermodel;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Objects;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Comment;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Hyperlink;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.util.Removal;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+
+// 事件模型读取的单元格,只保存读取到的值与数值的样式,不能修改
+// 公式单元格保存为缓存结果的类型与值
+final class EventCell implements Cell {
+  private final EventRow row;
+  private final int columnIndex;
+  private final CellType cellType;
+  private final Object value;
+  private final CellStyle cellStyle;
+
+  EventCell(EventRow row, int columnIndex, CellType cellType, Object value,
+      CellStyle cellStyle) {
+    this.row = row;
+    this.columnIndex = columnIndex;
+    this.cellType = cellType;
+    this.value = value;
+    this.cellStyle = cellStyle;
+  }
+
+  static UnsupportedOperationException readOnly() {
+    return new UnsupportedOperationException("event model workbook is read-only");
+  }
+
+  // 与XSSFCell一致,类型不符时抛出IllegalStateException,空白单元格返回默认值
+  private Object getValue(CellType expectedType) {
+    if (cellType != expectedType && cellType != CellType.BLANK) {
+      throw new IllegalStateException(
+          "Cannot get a " + expectedType + " value from a " + cellType + " cell");
+    }
+    return value;
+  }
+
+  @Override
+  public int getColumnIndex() {
+    return columnIndex;
+  }
+
+  @Override
+  public int getRowIndex() {
+    return row.getRowNum();
+  }
+
+  @Override
+  public Sheet getSheet() {
+    return row.getSheet();
+  }
+
+  @Override
+  public Row getRow() {
+    return row;
+  }
+
+  @Deprecated
+  @Removal(version = "1.0")
+  @Override
+  public void setCellType(int cellType) {
+    throw readOnly();
+  }
+
+  @Override
+  public void setCellType(CellType cellType) {
+    throw readOnly();
+  }
+
+  @Deprecated
+  @Removal(version = "1.0")
+  @Override
+  public int getCellType() {
+    return cellType.getCode();
+  }
+
+  @Override
+  public CellType getCellTypeEnum() {
+    return cellType;
+  }
+
+  @Deprecated
+  @Removal(version = "1.0")
+  @Override
+  public int getCachedFormulaResultType() {
+    return getCachedFormulaResultTypeEnum().getCode();
+  }
+
+  @Override
+  public CellType getCachedFormulaResultTypeEnum() {
+    throw new IllegalStateException("Only formula cells have cached results");
+  }
+
+  @Override
+  public void setCellValue(double value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void setCellValue(Date value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void setCellValue(Calendar value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void setCellValue(RichTextString value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void setCellValue(String value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void setCellFormula(String formula) {
+    throw readOnly();
+  }
+
+  @Override
+  public String getCellFormula() {
+    throw new IllegalStateException("Cannot get a FORMULA value from a " + cellType + " cell");
+  }
+
+  @Override
+  public double getNumericCellValue() {
+    Object numericValue = getValue(CellType.NUMERIC);
+    return Objects.isNull(numericValue) ? 0 : (Double) numericValue;
+  }
+
+  @Override
+  public Date getDateCellValue() {
+    Object numericValue = getValue(CellType.NUMERIC);
+    return Objects.isNull(numericValue) ? null
+        : DateUtil.getJavaDate((Double) numericValue, row.isDate1904());
+  }
+
+  @Override
+  public RichTextString getRichStringCellValue() {
+    return new XSSFRichTextString(getStringCellValue());
+  }
+
+  @Override
+  public String getStringCellValue() {
+    Object stringValue = getValue(CellType.STRING);
+    return Objects.isNull(stringValue) ? "" : (String) stringValue;
+  }
+
+  @Override
+  public void setCellValue(boolean value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void setCellErrorValue(byte value) {
+    throw readOnly();
+  }
+
+  @Override
+  public boolean getBooleanCellValue() {
+    Object booleanValue = getValue(CellType.BOOLEAN);
+    return Objects.nonNull(booleanValue) && (Boolean) booleanValue;
+  }
+
+  @Override
+  public byte getErrorCellValue() {
+    Object errorValue = getValue(CellType.ERROR);
+    return Objects.isNull(errorValue) ? 0 : (Byte) errorValue;
+  }
+
+  @Override
+  public void setCellStyle(CellStyle style) {
+    throw readOnly();
+  }
+
+  // 与XSSFCell一致,没有样式时返回默认样式
+  @Override
+  public CellStyle getCellStyle() {
+    return Objects.isNull(cellStyle) ? getSheet().getWorkbook().getCellStyleAt(0) : cellStyle;
+  }
+
+  @Override
+  public void setAsActiveCell() {
+    getSheet().setActiveCell(getAddress());
+  }
+
+  @Override
+  public CellAddress getAddress() {
+    return new CellAddress(this);
+  }
+
+  @Override
+  public void setCellComment(Comment comment) {
+    throw readOnly();
+  }
+
+  // 事件模型不读取批注与超链接
+  @Override
+  public Comment getCellComment() {
+    return null;
+  }
+
+  @Override
+  public void removeCellComment() {
+    throw readOnly();
+  }
+
+  @Override
+  public Hyperlink getHyperlink() {
+    return null;
+  }
+
+  @Override
+  public void setHyperlink(Hyperlink link) {
+    throw readOnly();
+  }
+
+  @Override
+  public void removeHyperlink() {
+    throw readOnly();
+  }
+
+  @Override
+  public CellRangeAddress getArrayFormulaRange() {
+    throw new IllegalStateException(
+        "Cell " + getAddress().formatAsString() + " is not part of an array formula.");
+  }
+
+  @Override
+  public boolean isPartOfArrayFormulaGroup() {
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return Objects.isNull(value) ? "" : value.toString();
+  }
+}
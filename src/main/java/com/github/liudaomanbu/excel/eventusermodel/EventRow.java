@@ -0,0 +1,201 @@
+package com.github.liudaomanbu.excel.eventusermodel;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.util.Removal;
+import com.google.common.collect.Iterators;
+
+// 事件模型读取的行,单元格按列号有序保存,不能修改
+final class EventRow implements Row {
+  private static final int INITIAL_CAPACITY = 8;
+
+  private final EventSheet sheet;
+  private final int rowNum;
+  private EventCell[] cells;
+  private int size;
+
+  EventRow(EventSheet sheet, int rowNum) {
+    this.sheet = sheet;
+    this.rowNum = rowNum;
+    this.cells = new EventCell[INITIAL_CAPACITY];
+  }
+
+  // 读取器写入单元格时使用,单元格通常按列号顺序出现,同一列重复出现时覆盖
+  void addCell(int columnIndex, CellType cellType, Object value, CellStyle cellStyle) {
+    EventCell cell = new EventCell(this, columnIndex, cellType, value, cellStyle);
+    int index = size == 0 || cells[size - 1].getColumnIndex() < columnIndex ? -size - 1
+        : indexOf(columnIndex);
+    if (index >= 0) {
+      cells[index] = cell;
+      return;
+    }
+    index = -index - 1;
+    if (size == cells.length) {
+      cells = Arrays.copyOf(cells, size * 2);
+    }
+    System.arraycopy(cells, index, cells, index + 1, size - index);
+    cells[index] = cell;
+    size++;
+  }
+
+  boolean isDate1904() {
+    return sheet.isDate1904();
+  }
+
+  private int indexOf(int columnIndex) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int middleColumnIndex = cells[middle].getColumnIndex();
+      if (middleColumnIndex < columnIndex) {
+        low = middle + 1;
+      } else if (middleColumnIndex > columnIndex) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -low - 1;
+  }
+
+  @Override
+  public Cell createCell(int column) {
+    throw EventCell.readOnly();
+  }
+
+  @Deprecated
+  @Removal(version = "1.0")
+  @Override
+  public Cell createCell(int column, int type) {
+    throw EventCell.readOnly();
+  }
+
+  @Override
+  public Cell createCell(int column, CellType type) {
+    throw EventCell.readOnly();
+  }
+
+  @Override
+  public void removeCell(Cell cell) {
+    throw EventCell.readOnly();
+  }
+
+  @Override
+  public void setRowNum(int rowNum) {
+    throw EventCell.readOnly();
+  }
+
+  @Override
+  public int getRowNum() {
+    return rowNum;
+  }
+
+  @Override
+  public Cell getCell(int cellnum) {
+    int index = indexOf(cellnum);
+    return index < 0 ? null : cells[index];
+  }
+
+  // 缺失的单元格按策略返回空白单元格时不加入行中
+  @Override
+  public Cell getCell(int cellnum, MissingCellPolicy policy) {
+    Cell cell = getCell(cellnum);
+    switch (policy) {
+      case RETURN_BLANK_AS_NULL:
+        return Objects.nonNull(cell) && cell.getCellTypeEnum() == CellType.BLANK ? null : cell;
+      case CREATE_NULL_AS_BLANK:
+        return Objects.isNull(cell) ? new EventCell(this, cellnum, CellType.BLANK, null, null)
+            : cell;
+      default:
+        return cell;
+    }
+  }
+
+  @Override
+  public short getFirstCellNum() {
+    return (short) (size == 0 ? -1 : cells[0].getColumnIndex());
+  }
+
+  @Override
+  public short getLastCellNum() {
+    return (short) (size == 0 ? -1 : cells[size - 1].getColumnIndex() + 1);
+  }
+
+  @Override
+  public int getPhysicalNumberOfCells() {
+    return size;
+  }
+
+  @Override
+  public void setHeight(short height) {
+    throw EventCell.readOnly();
+  }
+
+  @Override
+  public void setZeroHeight(boolean zeroHeight) {
+    throw EventCell.readOnly();
+  }
+
+  // 事件模型不读取行的格式,均按默认值返回
+  @Override
+  public boolean getZeroHeight() {
+    return false;
+  }
+
+  @Override
+  public void setHeightInPoints(float height) {
+    throw EventCell.readOnly();
+  }
+
+  @Override
+  public short getHeight() {
+    return getSheet().getDefaultRowHeight();
+  }
+
+  @Override
+  public float getHeightInPoints() {
+    return getSheet().getDefaultRowHeightInPoints();
+  }
+
+  @Override
+  public boolean isFormatted() {
+    return false;
+  }
+
+  @Override
+  public CellStyle getRowStyle() {
+    return null;
+  }
+
+  @Override
+  public void setRowStyle(CellStyle style) {
+    throw EventCell.readOnly();
+  }
+
+  @Override
+  public Iterator<Cell> cellIterator() {
+    return Iterators.<Cell>forArray(Arrays.copyOf(cells, size));
+  }
+
+  @Override
+  public Iterator<Cell> iterator() {
+    return cellIterator();
+  }
+
+  @Override
+  public Sheet getSheet() {
+    return sheet.getSheet();
+  }
+
+  @Override
+  public int getOutlineLevel() {
+    return 0;
+  }
+}
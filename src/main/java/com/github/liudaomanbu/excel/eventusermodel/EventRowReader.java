@@ -0,0 +1,16 @@
+package com.github.liudaomanbu.excel.eventusermodel;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// 按行读取sheet内容,由EventSheet在行或合并单元格首次被访问时调用
+// 关闭后再次readRow时从sheet开头重新读取
+interface EventRowReader extends Closeable {
+  int END = -1;
+
+  // 扫描sheet中存在的行号与合并单元格,不读取单元格的值
+  void scan(EventSheet sheet) throws IOException;
+
+  // 读取下一行写入sheet并返回行号,写入的行可能在之后被sheet释放,没有更多行时返回END
+  int readRow(EventSheet sheet) throws IOException;
+}
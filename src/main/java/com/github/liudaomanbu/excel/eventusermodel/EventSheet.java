@@ -0,0 +1,183 @@
+package com.github.liudaomanbu.excel.eventusermodel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import com.google.common.reflect.Reflection;
+
+// 事件模型读取的sheet,首次访问时才扫描行号与合并单元格,行在被访问时才按顺序从文件读取
+// 内存中只保留最近访问的ROW_WINDOW_SIZE行,再次访问已释放的行时从sheet开头重新读取
+// 行与合并单元格以外的方法交给一个空的XSSFSheet,合并单元格扫描后保存在其中
+final class EventSheet extends DelegatingInvocationHandler {
+  private static final int ROW_WINDOW_SIZE = 1024;
+
+  private final EventWorkbook workbook;
+  private final XSSFSheet delegate;
+  private final EventRowReader reader;
+  private final Sheet sheet;
+  private final BitSet rowNums;
+  private final Map<Integer, EventRow> rows;
+  private boolean scanned;
+  private int lastReadRowNum;
+
+  EventSheet(EventWorkbook workbook, XSSFSheet delegate, EventRowReader reader) {
+    super(delegate);
+    this.workbook = workbook;
+    this.delegate = delegate;
+    this.reader = reader;
+    this.sheet = Reflection.newProxy(Sheet.class, this);
+    this.rowNums = new BitSet();
+    this.rows = new LinkedHashMap<Integer, EventRow>(ROW_WINDOW_SIZE, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, EventRow> eldest) {
+        return size() > ROW_WINDOW_SIZE;
+      }
+    };
+    this.lastReadRowNum = -1;
+  }
+
+  Sheet getSheet() {
+    return sheet;
+  }
+
+  boolean isDate1904() {
+    return workbook.isDate1904();
+  }
+
+  void addScannedRow(int rownum) {
+    rowNums.set(rownum);
+  }
+
+  void addScannedMergedRegion(CellRangeAddress region) {
+    delegate.addMergedRegionUnsafe(region);
+  }
+
+  // 读取器写入单元格时使用,不触发读取
+  EventRow getOrCreateRow(int rownum) {
+    return rows.computeIfAbsent(rownum, key -> new EventRow(this, key));
+  }
+
+  void closeReader() throws IOException {
+    reader.close();
+  }
+
+  private void scan() {
+    if (scanned) {
+      return;
+    }
+    scanned = true;
+    try {
+      reader.scan(this);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private synchronized Row getRow(int rownum) {
+    scan();
+    if (rownum < 0 || !rowNums.get(rownum)) {
+      return null;
+    }
+    // 读取器返回行号之前行的单元格可能还未读取完
+    if (rownum <= lastReadRowNum && rows.containsKey(rownum)) {
+      return rows.get(rownum);
+    }
+    try {
+      // 行已被释放,从sheet开头重新读取
+      if (rownum <= lastReadRowNum) {
+        rows.clear();
+        reader.close();
+        lastReadRowNum = -1;
+      }
+      while (lastReadRowNum < rownum) {
+        int readRowNum = reader.readRow(this);
+        lastReadRowNum = readRowNum == EventRowReader.END ? Integer.MAX_VALUE
+            : Math.max(lastReadRowNum, readRowNum);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return rows.get(rownum);
+  }
+
+  private synchronized int getFirstRowNum() {
+    scan();
+    return rowNums.isEmpty() ? 0 : rowNums.nextSetBit(0);
+  }
+
+  private synchronized int getLastRowNum() {
+    scan();
+    return Math.max(rowNums.length() - 1, 0);
+  }
+
+  private synchronized int getPhysicalNumberOfRows() {
+    scan();
+    return rowNums.cardinality();
+  }
+
+  // 按行号顺序逐行读取,遍历时只保留窗口内的行
+  private synchronized Iterator<Row> rowIterator() {
+    scan();
+    return rowNums.stream().mapToObj(this::getRow).filter(Objects::nonNull).iterator();
+  }
+
+  private synchronized Object invokeMergedRegionMethod(Method method, Object[] args)
+      throws Throwable {
+    scan();
+    return invokeDelegate(method, args);
+  }
+
+  @Override
+  protected Object handleInvocation(Object proxy, Method method, Object[] args)
+      throws Throwable {
+    switch (method.getName()) {
+      case "getRow":
+        return getRow((Integer) args[0]);
+      case "getFirstRowNum":
+        return getFirstRowNum();
+      case "getLastRowNum":
+        return getLastRowNum();
+      case "getPhysicalNumberOfRows":
+        return getPhysicalNumberOfRows();
+      case "rowIterator":
+      case "iterator":
+        return rowIterator();
+      case "spliterator":
+        return Spliterators.spliteratorUnknownSize(rowIterator(), 0);
+      case "forEach":
+        @SuppressWarnings("unchecked")
+        Consumer<? super Row> action = (Consumer<? super Row>) args[0];
+        rowIterator().forEachRemaining(action);
+        return null;
+      case "getWorkbook":
+        return workbook.getWorkbook();
+      case "createRow":
+      case "removeRow":
+      case "shiftRows":
+      case "setArrayFormula":
+      case "removeArrayFormula":
+        throw EventCell.readOnly();
+      default:
+        return method.getName().contains("MergedRegion") ? invokeMergedRegionMethod(method, args)
+            : invokeDelegate(method, args);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return delegate.getSheetName();
+  }
+}
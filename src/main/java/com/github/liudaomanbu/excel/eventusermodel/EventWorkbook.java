@@ -0,0 +1,134 @@
+package com.github.liudaomanbu.excel.eventusermodel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.google.common.base.Predicates;
+import com.google.common.base.Strings;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.Closer;
+import com.google.common.reflect.Reflection;
+
+// 事件模型读取的只读工作簿,sheet内容在首次访问时才从文件读取,关闭时释放文件
+// sheet以外的方法交给一个空的XSSFWorkbook,样式只包含数值所用的数据格式
+final class EventWorkbook extends DelegatingInvocationHandler {
+  private static final int GENERAL_FORMAT = 0;
+
+  private final XSSFWorkbook delegate;
+  private final Workbook workbook;
+  private final Closeable source;
+  private final boolean date1904;
+  private final List<EventSheet> sheets;
+  private final Map<String, CellStyle> formatToStyles;
+
+  EventWorkbook(Closeable source, boolean date1904) {
+    this(new XSSFWorkbook(), source, date1904);
+  }
+
+  private EventWorkbook(XSSFWorkbook delegate, Closeable source, boolean date1904) {
+    super(delegate);
+    this.delegate = delegate;
+    this.workbook = Reflection.newProxy(Workbook.class, this);
+    this.source = source;
+    this.date1904 = date1904;
+    this.sheets = Lists.newArrayList();
+    this.formatToStyles = Maps.newHashMap();
+  }
+
+  Workbook getWorkbook() {
+    return workbook;
+  }
+
+  boolean isDate1904() {
+    return date1904;
+  }
+
+  EventSheet createEventSheet(String sheetName, EventRowReader reader) {
+    EventSheet sheet = new EventSheet(this, delegate.createSheet(sheetName), reader);
+    sheets.add(sheet);
+    return sheet;
+  }
+
+  // 与USER_MODEL一致,常规格式的数值不设置样式
+  synchronized CellStyle getStyle(int formatIndex, String formatString) {
+    if (formatIndex == GENERAL_FORMAT || Strings.isNullOrEmpty(formatString)) {
+      return null;
+    }
+    return formatToStyles.computeIfAbsent(formatString, format -> {
+      CellStyle style = delegate.createCellStyle();
+      style.setDataFormat(delegate.createDataFormat().getFormat(format));
+      return style;
+    });
+  }
+
+  private Sheet getSheet(int index) {
+    return sheets.get(index).getSheet();
+  }
+
+  private Iterator<Sheet> sheetIterator() {
+    return Iterators.transform(sheets.iterator(), EventSheet::getSheet);
+  }
+
+  private int getSheetIndex(Sheet sheet) {
+    return Iterators.indexOf(sheetIterator(), Predicates.equalTo(sheet));
+  }
+
+  private void close() throws IOException {
+    Closer closer = Closer.create();
+    closer.register(source);
+    sheets.forEach(sheet -> closer.register(sheet::closeReader));
+    closer.register(delegate);
+    closer.close();
+  }
+
+  @Override
+  protected Object handleInvocation(Object proxy, Method method, Object[] args)
+      throws Throwable {
+    switch (method.getName()) {
+      case "getSheetAt":
+        return getSheet((Integer) args[0]);
+      case "getSheet":
+        int index = delegate.getSheetIndex((String) args[0]);
+        return index < 0 ? null : getSheet(index);
+      case "getSheetIndex":
+        return method.getParameterTypes()[0] == Sheet.class ? getSheetIndex((Sheet) args[0])
+            : invokeDelegate(method, args);
+      case "sheetIterator":
+      case "iterator":
+        return sheetIterator();
+      case "spliterator":
+        return Lists.transform(sheets, EventSheet::getSheet).spliterator();
+      case "forEach":
+        @SuppressWarnings("unchecked")
+        Consumer<? super Sheet> action = (Consumer<? super Sheet>) args[0];
+        sheetIterator().forEachRemaining(action);
+        return null;
+      case "close":
+        close();
+        return null;
+      case "createSheet":
+      case "cloneSheet":
+      case "removeSheetAt":
+      case "setSheetOrder":
+      case "write":
+        throw EventCell.readOnly();
+      default:
+        return invokeDelegate(method, args);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "EventWorkbook" + Lists.transform(sheets, EventSheet::toString);
+  }
+}
@@ -0,0 +1,354 @@
+package com.github.liudaomanbu.excel.eventusermodel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Objects;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FilePassRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MergeCellsRecord;
+import org.apache.poi.hssf.record.MulBlankRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.RecordInputStream;
+import org.apache.poi.hssf.record.RowRecord;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.record.WriteProtectRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.crypt.Decryptor;
+import org.apache.poi.poifs.filesystem.DocumentFactoryHelper;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Workbook;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+
+// 逐条读取xls记录,不创建HSSFWorkbook
+// 先读取全局记录,每个sheet在首次访问时从BoundSheetRecord记录的位置扫描行号与合并单元格,
+// 之后按访问到的行号逐行读取单元格,共享字符串表与全局记录一起常驻内存
+public class HSSFEventReader {
+  // 只返回sheet自身的记录,跳过嵌入图表等子记录流,读到sheet的EOFRecord后返回null
+  private static class SheetRecordStream {
+    private final RecordFactoryInputStream records;
+    private int depth;
+
+    private SheetRecordStream(InputStream sheetData) {
+      this.records = new RecordFactoryInputStream(sheetData, false);
+    }
+
+    private Record nextRecord() {
+      if (depth < 0) {
+        return null;
+      }
+      for (Record record = records.nextRecord(); Objects.nonNull(record);
+          record = records.nextRecord()) {
+        if (record.getSid() == BOFRecord.sid) {
+          depth++;
+        } else if (record.getSid() == EOFRecord.sid && --depth == 0) {
+          break;
+        } else if (depth == 1) {
+          return record;
+        }
+      }
+      depth = -1;
+      return null;
+    }
+  }
+
+  private static final int DATE_1904_WINDOWING = 1;
+  // 公式缓存结果的类型代码,与CellType一致,CellType.forInt与getCode均已过时
+  private static final int STRING_RESULT = 1;
+  private static final int BOOLEAN_RESULT = 4;
+  private static final int ERROR_RESULT = 5;
+  private static final int NOT_CELL = -1;
+
+  // 返回的workbook持有fileSystem,关闭workbook时释放
+  public static Workbook read(POIFSFileSystem fileSystem)
+      throws InvalidFormatException, IOException {
+    boolean success = false;
+    try {
+      Workbook workbook;
+      if (fileSystem.getRoot().hasEntry(Decryptor.DEFAULT_POIFS_ENTRY)) {
+        // 加密的xlsx解密到内存后按xlsx读取,不再需要fileSystem
+        try (InputStream decryptedData =
+            DocumentFactoryHelper.getDecryptedStream(fileSystem, null)) {
+          workbook = XSSFEventReader.read(OPCPackage.open(decryptedData));
+        }
+        fileSystem.close();
+      } else {
+        // 加密的xls无法按BoundSheetRecord的位置定位sheet,退回到HSSFWorkbook
+        String workbookName = HSSFWorkbook.getWorkbookDirEntryName(fileSystem.getRoot());
+        workbook = isEncrypted(fileSystem, workbookName) ? new HSSFWorkbook(fileSystem)
+            : readGlobals(fileSystem, workbookName).getWorkbook();
+      }
+      success = true;
+      return workbook;
+    } finally {
+      if (!success) {
+        fileSystem.close();
+      }
+    }
+  }
+
+  // 与RecordFactoryInputStream一致,FilePassRecord紧随BOFRecord或WriteProtectRecord之后
+  private static boolean isEncrypted(POIFSFileSystem fileSystem, String workbookName)
+      throws IOException {
+    try (InputStream workbookData = fileSystem.createDocumentInputStream(workbookName)) {
+      RecordInputStream recordData = new RecordInputStream(workbookData);
+      while (recordData.hasNextRecord()) {
+        recordData.nextRecord();
+        switch (recordData.getSid()) {
+          case FilePassRecord.sid:
+            return true;
+          case BOFRecord.sid:
+          case WriteProtectRecord.sid:
+            recordData.readRemainder();
+            break;
+          default:
+            return false;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static EventWorkbook readGlobals(POIFSFileSystem fileSystem, String workbookName)
+      throws IOException {
+    List<BoundSheetRecord> boundSheetRecords = Lists.newArrayList();
+    FormatTrackingHSSFListener formatListener = new FormatTrackingHSSFListener(record -> {});
+    SSTRecord sstRecord = null;
+    boolean date1904 = false;
+    try (InputStream workbookData = fileSystem.createDocumentInputStream(workbookName)) {
+      RecordFactoryInputStream records = new RecordFactoryInputStream(workbookData, false);
+      for (Record record = records.nextRecord();
+          Objects.nonNull(record) && record.getSid() != EOFRecord.sid;
+          record = records.nextRecord()) {
+        formatListener.processRecord(record);
+        switch (record.getSid()) {
+          case BoundSheetRecord.sid:
+            boundSheetRecords.add((BoundSheetRecord) record);
+            break;
+          case SSTRecord.sid:
+            sstRecord = (SSTRecord) record;
+            break;
+          case DateWindow1904Record.sid:
+            date1904 = ((DateWindow1904Record) record).getWindowing() == DATE_1904_WINDOWING;
+            break;
+          default:
+            break;
+        }
+      }
+    }
+
+    EventWorkbook workbook = new EventWorkbook(fileSystem, date1904);
+    for (BoundSheetRecord boundSheetRecord : boundSheetRecords) {
+      workbook.createEventSheet(boundSheetRecord.getSheetname(), new SheetReader(workbook,
+          fileSystem, workbookName, boundSheetRecord.getPositionOfBof(), formatListener,
+          sstRecord));
+    }
+    return workbook;
+  }
+
+  private static int getRowIndex(Record record) {
+    if (record instanceof CellValueRecordInterface) {
+      return ((CellValueRecordInterface) record).getRow();
+    }
+    if (record instanceof MulBlankRecord) {
+      return ((MulBlankRecord) record).getRow();
+    }
+    return NOT_CELL;
+  }
+
+  private static class SheetReader implements EventRowReader {
+    private final EventWorkbook workbook;
+    private final POIFSFileSystem fileSystem;
+    private final String workbookName;
+    private final int positionOfBof;
+    private final FormatTrackingHSSFListener formatListener;
+    private final SSTRecord sstRecord;
+    private InputStream sheetData;
+    private SheetRecordStream records;
+    private int cellRowIndex;
+    private FormulaRecord stringFormulaRecord;
+
+    private SheetReader(EventWorkbook workbook, POIFSFileSystem fileSystem, String workbookName,
+        int positionOfBof, FormatTrackingHSSFListener formatListener, SSTRecord sstRecord) {
+      this.workbook = workbook;
+      this.fileSystem = fileSystem;
+      this.workbookName = workbookName;
+      this.positionOfBof = positionOfBof;
+      this.formatListener = formatListener;
+      this.sstRecord = sstRecord;
+      this.cellRowIndex = -1;
+    }
+
+    private InputStream openSheetData() throws IOException {
+      InputStream data = fileSystem.createDocumentInputStream(workbookName);
+      ByteStreams.skipFully(data, positionOfBof);
+      return data;
+    }
+
+    @Override
+    public void scan(EventSheet sheet) throws IOException {
+      // POIFSFileSystem的读取不是线程安全的,各sheet共用同一个fileSystem
+      synchronized (fileSystem) {
+        try (InputStream scanData = openSheetData()) {
+          SheetRecordStream scanRecords = new SheetRecordStream(scanData);
+          for (Record record = scanRecords.nextRecord(); Objects.nonNull(record);
+              record = scanRecords.nextRecord()) {
+            if (record.getSid() == RowRecord.sid) {
+              sheet.addScannedRow(((RowRecord) record).getRowNumber());
+            } else if (record.getSid() == MergeCellsRecord.sid) {
+              MergeCellsRecord mergeCellsRecord = (MergeCellsRecord) record;
+              for (int i = 0; i < mergeCellsRecord.getNumAreas(); i++) {
+                sheet.addScannedMergedRegion(mergeCellsRecord.getAreaAt(i));
+              }
+            } else if (getRowIndex(record) != NOT_CELL) {
+              sheet.addScannedRow(getRowIndex(record));
+            }
+          }
+        }
+      }
+    }
+
+    // 单元格记录按行号顺序出现,读到下一行的单元格时之前的行已完整
+    @Override
+    public int readRow(EventSheet sheet) throws IOException {
+      synchronized (fileSystem) {
+        if (Objects.isNull(records)) {
+          sheetData = openSheetData();
+          records = new SheetRecordStream(sheetData);
+        }
+        for (Record record = records.nextRecord(); Objects.nonNull(record);
+            record = records.nextRecord()) {
+          processRecord(sheet, record);
+          int rowIndex = getRowIndex(record);
+          if (rowIndex > cellRowIndex) {
+            int completedRowIndex = cellRowIndex;
+            cellRowIndex = rowIndex;
+            if (completedRowIndex >= 0) {
+              return rowIndex - 1;
+            }
+          }
+        }
+        close();
+        return END;
+      }
+    }
+
+    private void processRecord(EventSheet sheet, Record record) {
+      switch (record.getSid()) {
+        case RowRecord.sid:
+          sheet.getOrCreateRow(((RowRecord) record).getRowNumber());
+          break;
+        case BlankRecord.sid:
+          BlankRecord blankRecord = (BlankRecord) record;
+          addCell(sheet, blankRecord, CellType.BLANK, null);
+          break;
+        case MulBlankRecord.sid:
+          MulBlankRecord mulBlankRecord = (MulBlankRecord) record;
+          EventRow row = sheet.getOrCreateRow(mulBlankRecord.getRow());
+          for (int i = 0; i < mulBlankRecord.getNumColumns(); i++) {
+            row.addCell(mulBlankRecord.getFirstColumn() + i, CellType.BLANK, null, null);
+          }
+          break;
+        case LabelSSTRecord.sid:
+          LabelSSTRecord labelSSTRecord = (LabelSSTRecord) record;
+          addCell(sheet, labelSSTRecord, CellType.STRING,
+              sstRecord.getString(labelSSTRecord.getSSTIndex()).getString());
+          break;
+        case LabelRecord.sid:
+          LabelRecord labelRecord = (LabelRecord) record;
+          addCell(sheet, labelRecord, CellType.STRING, labelRecord.getValue());
+          break;
+        case NumberRecord.sid:
+          NumberRecord numberRecord = (NumberRecord) record;
+          addNumericCell(sheet, numberRecord, numberRecord.getValue());
+          break;
+        case BoolErrRecord.sid:
+          BoolErrRecord boolErrRecord = (BoolErrRecord) record;
+          if (boolErrRecord.isBoolean()) {
+            addCell(sheet, boolErrRecord, CellType.BOOLEAN, boolErrRecord.getBooleanValue());
+          } else {
+            addCell(sheet, boolErrRecord, CellType.ERROR, boolErrRecord.getErrorValue());
+          }
+          break;
+        case FormulaRecord.sid:
+          processFormulaRecord(sheet, (FormulaRecord) record);
+          break;
+        case StringRecord.sid:
+          // 字符串公式的结果保存在紧随其后的StringRecord中
+          if (Objects.nonNull(stringFormulaRecord)) {
+            addCell(sheet, stringFormulaRecord, CellType.STRING,
+                ((StringRecord) record).getString());
+            stringFormulaRecord = null;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    private void processFormulaRecord(EventSheet sheet, FormulaRecord record) {
+      switch (record.getCachedResultType()) {
+        case STRING_RESULT:
+          if (record.hasCachedResultString()) {
+            stringFormulaRecord = record;
+          } else {
+            addCell(sheet, record, CellType.STRING, "");
+          }
+          break;
+        case BOOLEAN_RESULT:
+          addCell(sheet, record, CellType.BOOLEAN, record.getCachedBooleanValue());
+          break;
+        case ERROR_RESULT:
+          addCell(sheet, record, CellType.ERROR, (byte) record.getCachedErrorValue());
+          break;
+        default:
+          addNumericCell(sheet, record, record.getValue());
+          break;
+      }
+    }
+
+    private void addNumericCell(EventSheet sheet, CellValueRecordInterface record,
+        double value) {
+      sheet.getOrCreateRow(record.getRow()).addCell(record.getColumn(), CellType.NUMERIC, value,
+          workbook.getStyle(formatListener.getFormatIndex(record),
+              formatListener.getFormatString(record)));
+    }
+
+    private void addCell(EventSheet sheet, CellValueRecordInterface record, CellType cellType,
+        Object value) {
+      sheet.getOrCreateRow(record.getRow()).addCell(record.getColumn(), cellType, value, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+      records = null;
+      cellRowIndex = -1;
+      stringFormulaRecord = null;
+      if (Objects.nonNull(sheetData)) {
+        sheetData.close();
+        sheetData = null;
+      }
+    }
+  }
+
+  private HSSFEventReader() {
+    throw new AssertionError();
+  }
+}
@@ -0,0 +1,276 @@
+package com.github.liudaomanbu.excel.eventusermodel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.Optional;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.StaxHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+import com.google.common.base.Strings;
+
+// 通过XSSFReader与StAX读取xlsx,不创建XSSF的DOM
+// 每个sheet在首次访问时扫描一遍行号与合并单元格,之后按访问到的行号逐行读取单元格
+public class XSSFEventReader {
+  private static final XMLInputFactory XML_INPUT_FACTORY = StaxHelper.newXMLInputFactory();
+  private static final String WORKBOOK_PR = "workbookPr";
+  private static final String DATE_1904 = "date1904";
+  private static final String SHEET_DATA = "sheetData";
+  private static final String ROW = "row";
+  private static final String CELL = "c";
+  private static final String VALUE = "v";
+  private static final String INLINE_STRING = "is";
+  private static final String TEXT = "t";
+  private static final String MERGE_CELL = "mergeCell";
+  private static final String REFERENCE = "r";
+  private static final String RANGE_REFERENCE = "ref";
+  private static final String TYPE = "t";
+  private static final String STYLE = "s";
+
+  // 返回的workbook持有pkg,关闭workbook时释放
+  public static Workbook read(OPCPackage pkg) throws InvalidFormatException, IOException {
+    boolean success = false;
+    try {
+      XSSFReader reader = new XSSFReader(pkg);
+      ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+      StylesTable styles = reader.getStylesTable();
+      EventWorkbook workbook;
+      try (InputStream workbookData = reader.getWorkbookData()) {
+        workbook = new EventWorkbook(pkg::revert, isDate1904(workbookData));
+      }
+
+      XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+      while (iterator.hasNext()) {
+        iterator.next().close();
+        workbook.createEventSheet(iterator.getSheetName(),
+            new SheetReader(workbook, iterator.getSheetPart(), strings, styles));
+      }
+      success = true;
+      return workbook.getWorkbook();
+    } catch (InvalidFormatException e) {
+      throw e;
+    } catch (OpenXML4JException e) {
+      throw new InvalidFormatException(e.getMessage());
+    } catch (SAXException | XMLStreamException e) {
+      throw new IOException(e);
+    } finally {
+      if (!success) {
+        pkg.revert();
+      }
+    }
+  }
+
+  private static boolean isDate1904(InputStream workbookData) throws XMLStreamException {
+    XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(workbookData);
+    try {
+      while (xml.hasNext()) {
+        if (xml.next() == XMLStreamConstants.START_ELEMENT
+            && WORKBOOK_PR.equals(xml.getLocalName())) {
+          String date1904 = xml.getAttributeValue(null, DATE_1904);
+          return "1".equals(date1904) || Boolean.parseBoolean(date1904);
+        }
+      }
+      return false;
+    } finally {
+      xml.close();
+    }
+  }
+
+  private static int getRowIndex(XMLStreamReader xml, int lastRowIndex) {
+    return Optional.ofNullable(xml.getAttributeValue(null, REFERENCE)).map(Integer::parseInt)
+        .map(rowNumber -> rowNumber - 1).orElse(lastRowIndex + 1);
+  }
+
+  private static boolean isEndElement(XMLStreamReader xml, int event, String localName) {
+    return event == XMLStreamConstants.END_ELEMENT && localName.equals(xml.getLocalName());
+  }
+
+  private static class SheetReader implements EventRowReader {
+    private final EventWorkbook workbook;
+    private final PackagePart part;
+    private final ReadOnlySharedStringsTable strings;
+    private final StylesTable styles;
+    private InputStream sheetData;
+    private XMLStreamReader xml;
+    private int rowIndex;
+
+    private SheetReader(EventWorkbook workbook, PackagePart part,
+        ReadOnlySharedStringsTable strings, StylesTable styles) {
+      this.workbook = workbook;
+      this.part = part;
+      this.strings = strings;
+      this.styles = styles;
+      this.rowIndex = -1;
+    }
+
+    @Override
+    public void scan(EventSheet sheet) throws IOException {
+      try (InputStream scanData = part.getInputStream()) {
+        XMLStreamReader scanXml = XML_INPUT_FACTORY.createXMLStreamReader(scanData);
+        try {
+          int scanRowIndex = -1;
+          while (scanXml.hasNext()) {
+            if (scanXml.next() != XMLStreamConstants.START_ELEMENT) {
+              continue;
+            }
+            switch (scanXml.getLocalName()) {
+              case ROW:
+                scanRowIndex = getRowIndex(scanXml, scanRowIndex);
+                sheet.addScannedRow(scanRowIndex);
+                break;
+              case MERGE_CELL:
+                sheet.addScannedMergedRegion(
+                    CellRangeAddress.valueOf(scanXml.getAttributeValue(null, RANGE_REFERENCE)));
+                break;
+              default:
+                break;
+            }
+          }
+        } finally {
+          scanXml.close();
+        }
+      } catch (XMLStreamException e) {
+        throw new IOException(e);
+      }
+    }
+
+    @Override
+    public int readRow(EventSheet sheet) throws IOException {
+      try {
+        if (Objects.isNull(xml)) {
+          sheetData = part.getInputStream();
+          xml = XML_INPUT_FACTORY.createXMLStreamReader(sheetData);
+        }
+        while (xml.hasNext()) {
+          int event = xml.next();
+          if (event == XMLStreamConstants.START_ELEMENT && ROW.equals(xml.getLocalName())) {
+            rowIndex = getRowIndex(xml, rowIndex);
+            readCells(sheet.getOrCreateRow(rowIndex));
+            return rowIndex;
+          }
+          if (isEndElement(xml, event, SHEET_DATA)) {
+            break;
+          }
+        }
+        close();
+        return END;
+      } catch (XMLStreamException e) {
+        throw new IOException(e);
+      }
+    }
+
+    private void readCells(EventRow row) throws XMLStreamException {
+      int columnIndex = -1;
+      int event;
+      while (!isEndElement(xml, event = xml.next(), ROW)) {
+        if (event == XMLStreamConstants.START_ELEMENT && CELL.equals(xml.getLocalName())) {
+          String reference = xml.getAttributeValue(null, REFERENCE);
+          columnIndex = Objects.isNull(reference) ? columnIndex + 1
+              : new CellReference(reference).getCol();
+          readCell(row, columnIndex);
+        }
+      }
+    }
+
+    private void readCell(EventRow row, int columnIndex) throws XMLStreamException {
+      String cellType = xml.getAttributeValue(null, TYPE);
+      String cellStyle = xml.getAttributeValue(null, STYLE);
+      StringBuilder text = new StringBuilder();
+      boolean hasValue = false;
+      int event;
+      while (!isEndElement(xml, event = xml.next(), CELL)) {
+        if (event != XMLStreamConstants.START_ELEMENT) {
+          continue;
+        }
+        switch (xml.getLocalName()) {
+          case VALUE:
+            hasValue = true;
+            text.append(xml.getElementText());
+            break;
+          case INLINE_STRING:
+            hasValue = true;
+            break;
+          case TEXT:
+            text.append(xml.getElementText());
+            break;
+          default:
+            break;
+        }
+      }
+      if (hasValue) {
+        addCell(row, columnIndex, cellType, cellStyle, text.toString());
+      } else {
+        row.addCell(columnIndex, CellType.BLANK, null, null);
+      }
+    }
+
+    private void addCell(EventRow row, int columnIndex, String cellType, String cellStyle,
+        String value) {
+      switch (Strings.nullToEmpty(cellType)) {
+        case "s":
+          row.addCell(columnIndex, CellType.STRING, strings.getEntryAt(Integer.parseInt(value)),
+              null);
+          break;
+        case "inlineStr":
+        case "str":
+          row.addCell(columnIndex, CellType.STRING, value, null);
+          break;
+        case "b":
+          row.addCell(columnIndex, CellType.BOOLEAN, "1".equals(value), null);
+          break;
+        case "e":
+          row.addCell(columnIndex, CellType.ERROR, FormulaError.forString(value).getCode(), null);
+          break;
+        default:
+          if (value.isEmpty()) {
+            row.addCell(columnIndex, CellType.BLANK, null, null);
+          } else {
+            int styleIndex = Strings.isNullOrEmpty(cellStyle) ? 0 : Integer.parseInt(cellStyle);
+            XSSFCellStyle style = styles.getStyleAt(styleIndex);
+            row.addCell(columnIndex, CellType.NUMERIC, Double.parseDouble(value),
+                Objects.isNull(style) ? null
+                    : workbook.getStyle(style.getDataFormat(), style.getDataFormatString()));
+          }
+          break;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        if (Objects.nonNull(xml)) {
+          xml.close();
+        }
+      } catch (XMLStreamException e) {
+        throw new IOException(e);
+      } finally {
+        xml = null;
+        rowIndex = -1;
+        if (Objects.nonNull(sheetData)) {
+          sheetData.close();
+          sheetData = null;
+        }
+      }
+    }
+  }
+
+  private XSSFEventReader() {
+    throw new AssertionError();
+  }
+}
@@ -0,0 +1,145 @@
+package com.github.liudaomanbu.excel.handler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import com.github.liudaomanbu.excel.parse.result.Table;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+// 按批次把行交给sink,sink在单独的线程中执行,等待处理的批次数有上限,满时解析线程等待
+// 批次缓冲会被复用,sink返回后不能继续持有传入的List
+// 可被并发解析的多个sheet共用,每个表格单独缓冲,批次不跨表格,onRow/flush/close互斥执行
+public class BatchRowHandler<T> implements RowHandler<T>, AutoCloseable {
+  private static final ThreadFactory DEFAULT_THREAD_FACTORY =
+      new ThreadFactoryBuilder().setNameFormat("excel-batch-sink-%d").setDaemon(true).build();
+
+  private final int batchSize;
+  private final Consumer<? super List<T>> sink;
+  private final BlockingQueue<List<T>> fullBatches;
+  private final BlockingQueue<List<T>> freeBatches;
+  // 通知sink线程结束
+  private final List<T> end = new ArrayList<>(0);
+  private final Thread worker;
+  private volatile Throwable failure;
+  // 各表格正在填充的批次与closed由this保护
+  private final Map<Table, List<T>> tableToBatches = Maps.newIdentityHashMap();
+  private boolean closed;
+
+  public BatchRowHandler(int batchSize, int queueCapacity, Consumer<? super List<T>> sink) {
+    this(batchSize, queueCapacity, sink, DEFAULT_THREAD_FACTORY);
+  }
+
+  public BatchRowHandler(int batchSize, int queueCapacity, Consumer<? super List<T>> sink,
+      ThreadFactory threadFactory) {
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+    Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+    this.batchSize = batchSize;
+    this.sink = Preconditions.checkNotNull(sink);
+    this.fullBatches = new ArrayBlockingQueue<>(queueCapacity + 1);
+    // 队列中的批次之外,还有一个正在填充与一个正在处理的批次
+    // 同时填充多个表格时缓冲不够则新建,回收时超出的丢弃
+    this.freeBatches = new ArrayBlockingQueue<>(queueCapacity + 2);
+    for (int i = 0; i < queueCapacity + 2; i++) {
+      freeBatches.add(new ArrayList<>(batchSize));
+    }
+    this.worker = threadFactory.newThread(this::drain);
+    worker.start();
+  }
+
+  private void drain() {
+    while (true) {
+      List<T> batch = Uninterruptibles.takeUninterruptibly(fullBatches);
+      if (batch == end) {
+        return;
+      }
+      // sink失败后不再处理,只回收缓冲,避免解析线程一直等待
+      if (Objects.isNull(failure)) {
+        try {
+          sink.accept(Collections.unmodifiableList(batch));
+        } catch (Throwable e) {
+          failure = e;
+        }
+      }
+      batch.clear();
+      freeBatches.offer(batch);
+    }
+  }
+
+  @Override
+  public synchronized void onRow(Table table, T row) {
+    checkFailure();
+    Preconditions.checkState(!closed, "handler closed");
+    List<T> batch = tableToBatches.computeIfAbsent(table, key -> newBatch());
+    batch.add(row);
+    if (batch.size() >= batchSize) {
+      submit(table);
+    }
+  }
+
+  // 只提交该表格的批次,其他并发解析的表格继续填充
+  @Override
+  public synchronized void onTableEnd(Table table) {
+    checkFailure();
+    submit(table);
+  }
+
+  public synchronized void flush() {
+    checkFailure();
+    submitAll();
+  }
+
+  private List<T> newBatch() {
+    List<T> batch = freeBatches.poll();
+    return Objects.isNull(batch) ? new ArrayList<>(batchSize) : batch;
+  }
+
+  private synchronized void submit(Table table) {
+    List<T> batch = tableToBatches.remove(table);
+    if (Objects.nonNull(batch)) {
+      Uninterruptibles.putUninterruptibly(fullBatches, batch);
+    }
+  }
+
+  private synchronized void submitAll() {
+    tableToBatches.values()
+        .forEach(batch -> Uninterruptibles.putUninterruptibly(fullBatches, batch));
+    tableToBatches.clear();
+  }
+
+  // 提交剩余的行并等待sink处理完成
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (Objects.isNull(failure)) {
+      submitAll();
+    }
+    Uninterruptibles.putUninterruptibly(fullBatches, end);
+    Uninterruptibles.joinUninterruptibly(worker);
+    checkFailure();
+  }
+
+  private void checkFailure() {
+    Throwable throwable = failure;
+    if (Objects.nonNull(throwable)) {
+      Throwables.throwIfUnchecked(throwable);
+      throw new IllegalStateException("batch sink failed", throwable);
+    }
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+}
@@ -0,0 +1,14 @@
+package com.github.liudaomanbu.excel.handler;
+
+import com.github.liudaomanbu.excel.parse.error.ValidationError;
+import com.github.liudaomanbu.excel.parse.result.Table;
+import com.github.liudaomanbu.excel.parse.result.TableData;
+
+// 解析过程中逐行回调,配置后TableData不再保存行数据与校验结果
+public interface RowHandler<T> {
+  void onRow(Table table, T row);
+
+  default void onError(Table table, ValidationError<TableData> error) {}
+
+  default void onTableEnd(Table table) {}
+}
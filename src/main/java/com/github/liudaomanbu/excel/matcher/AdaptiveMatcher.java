@@ -0,0 +1,120 @@
+package com.github.liudaomanbu.excel.matcher;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import com.github.liudaomanbu.excel.matcher.constant.Type;
+import com.google.common.collect.ImmutableList;
+
+// 按采样得到的通过率与耗时调整断言顺序,让代价低且最可能短路的断言先执行
+// 调整顺序要求断言没有副作用,且不依赖前面的断言做前置判断
+public class AdaptiveMatcher<T> implements Predicate<T> {
+  // 前WARMUP_CALLS次全部采样,之后每SAMPLE_INTERVAL次采样一次
+  private static final long WARMUP_CALLS = 64;
+  private static final int SAMPLE_INTERVAL = 16;
+  private static final int REORDER_INTERVAL = 32;
+
+  private final Type type;
+  private final Predicate<T>[] predicates;
+  private final LongAdder[] samples;
+  private final LongAdder[] passes;
+  private final LongAdder[] nanos;
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong sampledCalls = new AtomicLong();
+  private volatile int[] order;
+
+  public AdaptiveMatcher(Type type, Predicate<T>[] predicates) {
+    this.type = type;
+    this.predicates = predicates.clone();
+    this.samples = newAdders(predicates.length);
+    this.passes = newAdders(predicates.length);
+    this.nanos = newAdders(predicates.length);
+    this.order = IntStream.range(0, predicates.length).toArray();
+  }
+
+  private static LongAdder[] newAdders(int length) {
+    return IntStream.range(0, length).mapToObj(i -> new LongAdder()).toArray(LongAdder[]::new);
+  }
+
+  @Override
+  public boolean test(T t) {
+    long call = calls.getAndIncrement();
+    if (call < WARMUP_CALLS || call % SAMPLE_INTERVAL == 0) {
+      return sampledTest(t);
+    }
+    boolean shortCircuitValue = type.shortCircuitValue();
+    for (int index : order) {
+      if (predicates[index].test(t) == shortCircuitValue) {
+        return shortCircuitValue;
+      }
+    }
+    return !shortCircuitValue;
+  }
+
+  private boolean sampledTest(T t) {
+    boolean shortCircuitValue = type.shortCircuitValue();
+    boolean result = !shortCircuitValue;
+    for (int index : order) {
+      long start = System.nanoTime();
+      boolean value = predicates[index].test(t);
+      nanos[index].add(System.nanoTime() - start);
+      samples[index].increment();
+      if (value) {
+        passes[index].increment();
+      }
+      if (value == shortCircuitValue) {
+        result = shortCircuitValue;
+        break;
+      }
+    }
+    if (sampledCalls.incrementAndGet() % REORDER_INTERVAL == 0) {
+      reorder();
+    }
+    return result;
+  }
+
+  private synchronized void reorder() {
+    double[] scores = new double[predicates.length];
+    // 还没有采样的断言按已知断言的平均耗时与通过率估计,使其有机会被提前采样
+    double knownNanos = 0;
+    long knownSamples = 0;
+    for (int i = 0; i < predicates.length; i++) {
+      knownNanos += nanos[i].sum();
+      knownSamples += samples[i].sum();
+    }
+    double defaultNanos = knownSamples == 0 ? 1 : knownNanos / knownSamples;
+    for (int i = 0; i < predicates.length; i++) {
+      long sampleCount = samples[i].sum();
+      double passRate = sampleCount == 0 ? 0.5 : (double) passes[i].sum() / sampleCount;
+      double averageNanos = sampleCount == 0 ? defaultNanos : (double) nanos[i].sum() / sampleCount;
+      scores[i] = type.score(passRate, averageNanos);
+    }
+    order = IntStream.range(0, predicates.length).boxed()
+        .sorted(Comparator.comparingDouble(i -> scores[i])).mapToInt(Integer::intValue)
+        .toArray();
+  }
+
+  public ImmutableList<PredicateStatistics<T>> getStatistics() {
+    int[] currentOrder = order;
+    int[] positions = new int[currentOrder.length];
+    for (int i = 0; i < currentOrder.length; i++) {
+      positions[currentOrder[i]] = i;
+    }
+    return IntStream.range(0, predicates.length)
+        .mapToObj(i -> new PredicateStatistics<>(predicates[i], i, positions[i], samples[i].sum(),
+            passes[i].sum(), nanos[i].sum()))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  @Override
+  public String toString() {
+    return type + Arrays.toString(order);
+  }
+}
@@ -0,0 +1,75 @@
+package com.github.liudaomanbu.excel.matcher;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+
+// 多模式串匹配自动机,一次扫描找出文本中出现的所有模式串
+public class AhoCorasickAutomaton<V> {
+  private static class Node<V> {
+    private final Map<Character, Node<V>> children = Maps.newHashMap();
+    private final ImmutableSet.Builder<V> outputBuilder = ImmutableSet.builder();
+    private ImmutableSet<V> outputs;
+    private Node<V> fail;
+  }
+
+  private final Node<V> root;
+
+  public AhoCorasickAutomaton(Map<String, ? extends Collection<V>> patternToValues) {
+    Preconditions.checkNotNull(patternToValues);
+    root = new Node<>();
+    patternToValues.forEach((pattern, values) -> {
+      Preconditions.checkArgument(!pattern.isEmpty(), "pattern can't be empty");
+      Node<V> node = root;
+      for (char c : pattern.toCharArray()) {
+        node = node.children.computeIfAbsent(c, key -> new Node<>());
+      }
+      node.outputBuilder.addAll(values);
+    });
+    buildFailLinks();
+  }
+
+  private void buildFailLinks() {
+    Queue<Node<V>> queue = new ArrayDeque<>();
+    root.fail = root;
+    root.outputs = root.outputBuilder.build();
+    root.children.values().forEach(child -> {
+      child.fail = root;
+      queue.add(child);
+    });
+    while (!queue.isEmpty()) {
+      Node<V> node = queue.poll();
+      // 广度优先,失配节点的输出此时已经确定
+      node.outputs = node.outputBuilder.addAll(node.fail.outputs).build();
+      node.children.forEach((c, child) -> {
+        Node<V> fail = node.fail;
+        while (fail != root && !fail.children.containsKey(c)) {
+          fail = fail.fail;
+        }
+        Node<V> next = fail.children.get(c);
+        child.fail = Objects.isNull(next) || next == child ? root : next;
+        queue.add(child);
+      });
+    }
+  }
+
+  public ImmutableSet<V> search(String text) {
+    Preconditions.checkNotNull(text);
+    ImmutableSet.Builder<V> builder = ImmutableSet.builder();
+    Node<V> node = root;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      while (node != root && !node.children.containsKey(c)) {
+        node = node.fail;
+      }
+      node = node.children.getOrDefault(c, root);
+      builder.addAll(node.outputs);
+    }
+    return builder.build();
+  }
+}
@@ -1,14 +1,17 @@
 package com.github.liudaomanbu.excel.matcher;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import com.github.liudaomanbu.excel.matcher.constant.ComparableMatcherType;
 import com.github.liudaomanbu.excel.matcher.constant.StringMatcherType;
 import com.github.liudaomanbu.excel.matcher.constant.Type;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 public class BaseMatcher<T> implements Matcher<T> {
@@ -18,6 +21,10 @@ public class BaseMatcher<T> implements Matcher<T> {
   private Type type;
   private Matcher<T> parent;
   private List<Predicate<T>> predicates;
+  // 按运行时统计调整断言顺序,要求断言之间没有前置依赖
+  private boolean adaptive;
+  // 编译后的断言,修改匹配条件时失效
+  private volatile Predicate<T> compiledPredicate;
 
   public BaseMatcher() {
     this(null, null, null);
@@ -27,29 +34,48 @@ public class BaseMatcher<T> implements Matcher<T> {
     super();
     this.type = Optional.ofNullable(type).orElse(DEFAULT_TYPE);
     this.parent = parent;
-    this.predicates = Optional.ofNullable(predicates).orElse(Lists.newLinkedList());
+    this.predicates = Optional.ofNullable(predicates).map(this::link).orElse(Lists.newLinkedList());
   }
 
   @Override
   public boolean test(T t) {
-    return type.reduce(predicates).test(t);
+    return compile().test(t);
   }
 
   @Override
   public Matcher<T> add(Predicate<T> predicate) {
-    predicates.add(predicate);
+    predicates.add(link(predicate));
+    invalidate();
     return this;
   }
 
+  // 没有parent的BaseMatcher以当前matcher为parent,修改时使当前matcher的编译结果失效
+  // 已属于其他matcher时不展开,按引用调用其自身的编译结果
+  private Predicate<T> link(Predicate<T> predicate) {
+    if (!(predicate instanceof BaseMatcher)) {
+      return predicate;
+    }
+    BaseMatcher<T> matcher = (BaseMatcher<T>) predicate;
+    if (Objects.isNull(matcher.parent)) {
+      matcher.parent = this;
+    }
+    return matcher.parent == this ? matcher : matcher::test;
+  }
+
+  private List<Predicate<T>> link(List<Predicate<T>> predicates) {
+    return predicates.stream().map(this::link)
+        .collect(Collectors.toCollection(Lists::newLinkedList));
+  }
+
   @Override
   public <R> Matcher<T> add(Predicate<R> predicate, Function<T, R> transformer) {
-    return add(value -> predicate.test(transformer.apply(value)));
+    return add(new TransformedPredicate<>(predicate, transformer));
   }
 
   @Override
   public Matcher<T> add(StringMatcherType type, String predicateValue,
       Function<T, String> transformer) {
-    return add(value -> type.apply(value, predicateValue), transformer);
+    return add(new StringMatcherPredicate<>(type, predicateValue, transformer));
   }
 
   @Override
@@ -59,7 +85,8 @@ public class BaseMatcher<T> implements Matcher<T> {
   }
 
   public Matcher<T> stratJunction(Type type) {
-    Matcher<T> builder = new BaseMatcher<>(type, null, null);
+    BaseMatcher<T> builder = new BaseMatcher<>(type, this, null);
+    builder.adaptive = adaptive;
     add(builder);
     return builder;
   }
@@ -91,7 +118,31 @@ public class BaseMatcher<T> implements Matcher<T> {
   @Override
   public Predicate<T> reduce() {
     Preconditions.checkState(!predicates.isEmpty(),"predicates can't empty");
-    return type.reduce(predicates);
+    return compile();
+  }
+
+  public Predicate<T> compile() {
+    Predicate<T> result = compiledPredicate;
+    if (Objects.isNull(result)) {
+      result = CompiledMatcher.compile(type, predicates, adaptive);
+      compiledPredicate = result;
+    }
+    return result;
+  }
+
+  // 未开启adaptive或尚未编译时为空
+  @SuppressWarnings("unchecked")
+  public ImmutableList<PredicateStatistics<T>> getStatistics() {
+    Predicate<T> result = compiledPredicate;
+    return result instanceof AdaptiveMatcher ? ((AdaptiveMatcher<T>) result).getStatistics()
+        : ImmutableList.of();
+  }
+
+  private void invalidate() {
+    compiledPredicate = null;
+    if (parent instanceof BaseMatcher) {
+      ((BaseMatcher<T>) parent).invalidate();
+    }
   }
 
   public Type getType() {
@@ -100,6 +151,17 @@ public class BaseMatcher<T> implements Matcher<T> {
 
   public Matcher<T> setType(Type type) {
     this.type = type;
+    invalidate();
+    return this;
+  }
+
+  public boolean isAdaptive() {
+    return adaptive;
+  }
+
+  public Matcher<T> setAdaptive(boolean adaptive) {
+    this.adaptive = adaptive;
+    invalidate();
     return this;
   }
 
@@ -112,12 +174,14 @@ public class BaseMatcher<T> implements Matcher<T> {
     return this;
   }
 
+  // 只读视图,修改匹配条件需通过add/setPredicates,以便编译结果失效
   public List<Predicate<T>> getPredicates() {
-    return predicates;
+    return Collections.unmodifiableList(predicates);
   }
 
   public Matcher<T> setPredicates(List<Predicate<T>> predicates) {
-    this.predicates = predicates;
+    this.predicates = link(predicates);
+    invalidate();
     return this;
   }
 
@@ -0,0 +1,115 @@
+package com.github.liudaomanbu.excel.matcher;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import com.github.liudaomanbu.excel.matcher.constant.Type;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+// 编译后的匹配器,同类型的嵌套junction展开为一层,相邻且transformer相同的断言只转换一次
+// 断言顺序保持不变,前面的断言可以作为后面断言的前置条件
+public class CompiledMatcher<T> implements Predicate<T> {
+  private static class TransformedGroup<T, R> implements Predicate<T> {
+    private final Type type;
+    private final Function<T, R> transformer;
+    private final Predicate<R>[] predicates;
+
+    private TransformedGroup(Type type, Function<T, R> transformer, Predicate<R>[] predicates) {
+      this.type = type;
+      this.transformer = transformer;
+      this.predicates = predicates;
+    }
+
+    @Override
+    public boolean test(T t) {
+      return type.test(predicates, transformer.apply(t));
+    }
+  }
+
+  public static <T> Predicate<T> compile(Type type, List<Predicate<T>> predicates) {
+    return compile(type, predicates, false);
+  }
+
+  // 只有一个断言时直接返回该断言,adaptive为true时按运行时统计调整断言顺序
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static <T> Predicate<T> compile(Type type, List<Predicate<T>> predicates,
+      boolean adaptive) {
+    Preconditions.checkNotNull(type);
+    List<Predicate<T>> flattenedPredicates = Lists.newArrayList();
+    flatten(type, predicates, flattenedPredicates);
+    Preconditions.checkState(!flattenedPredicates.isEmpty(), "predicates can't empty");
+
+    List<Object> nodes = Lists.newArrayList();
+    List<TransformedPredicate> group = null;
+    for (Predicate<T> predicate : flattenedPredicates) {
+      if (predicate instanceof TransformedPredicate) {
+        TransformedPredicate transformedPredicate = (TransformedPredicate) predicate;
+        if (Objects.isNull(group)
+            || group.get(0).getTransformer() != transformedPredicate.getTransformer()) {
+          group = Lists.newArrayList();
+          nodes.add(group);
+        }
+        group.add(transformedPredicate);
+      } else {
+        group = null;
+        nodes.add(predicate);
+      }
+    }
+
+    Predicate<T>[] compiledPredicates = new Predicate[nodes.size()];
+    for (int i = 0; i < nodes.size(); i++) {
+      Object node = nodes.get(i);
+      if (node instanceof List) {
+        List<TransformedPredicate> predicateGroup = (List<TransformedPredicate>) node;
+        compiledPredicates[i] = predicateGroup.size() == 1 ? predicateGroup.get(0)
+            : new TransformedGroup(type, predicateGroup.get(0).getTransformer(), predicateGroup
+                .stream().map(TransformedPredicate::getPredicate).toArray(Predicate[]::new));
+      } else {
+        compiledPredicates[i] = (Predicate<T>) node;
+      }
+    }
+    if (compiledPredicates.length == 1) {
+      return compiledPredicates[0];
+    }
+    return adaptive ? new AdaptiveMatcher<>(type, compiledPredicates)
+        : new CompiledMatcher<>(type, compiledPredicates);
+  }
+
+  private static <T> void flatten(Type type, List<Predicate<T>> predicates,
+      List<Predicate<T>> flattenedPredicates) {
+    for (Predicate<T> predicate : predicates) {
+      if (predicate instanceof BaseMatcher) {
+        BaseMatcher<T> matcher = (BaseMatcher<T>) predicate;
+        if (type.equals(matcher.getType())) {
+          flatten(type, matcher.getPredicates(), flattenedPredicates);
+        } else {
+          flattenedPredicates.add(matcher.reduce());
+        }
+      } else if (predicate instanceof CompiledMatcher
+          && type.equals(((CompiledMatcher<T>) predicate).type)) {
+        flattenedPredicates.addAll(Lists.newArrayList(((CompiledMatcher<T>) predicate).predicates));
+      } else {
+        flattenedPredicates.add(predicate);
+      }
+    }
+  }
+
+  private final Type type;
+  private final Predicate<T>[] predicates;
+
+  private CompiledMatcher(Type type, Predicate<T>[] predicates) {
+    this.type = type;
+    this.predicates = predicates;
+  }
+
+  @Override
+  public boolean test(T t) {
+    return type.test(predicates, t);
+  }
+
+  public Type getType() {
+    return type;
+  }
+}
@@ -0,0 +1,142 @@
+package com.github.liudaomanbu.excel.matcher;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
+
+// 按插入顺序查找第一个匹配的值,EQUALS类字符串断言使用哈希索引,
+// CONTAINS/STARTS_WITH/ENDS_WITH使用多模式自动机,其余断言逐个测试
+public class MatcherIndex<T, V> {
+  // 使用同一个transformer的字符串断言,每个元素只需转换一次
+  private static class Group<T> {
+    private final Function<T, String> transformer;
+    private final ListMultimap<String, Integer> equalsIndex;
+    private final ListMultimap<String, Integer> equalsIgnoreCaseIndex;
+    private final ListMultimap<String, Integer> containsIndex;
+    private AhoCorasickAutomaton<Integer> automaton;
+
+    private Group(Function<T, String> transformer) {
+      this.transformer = transformer;
+      this.equalsIndex = ArrayListMultimap.create();
+      this.equalsIgnoreCaseIndex = ArrayListMultimap.create();
+      this.containsIndex = ArrayListMultimap.create();
+    }
+
+    private boolean add(StringMatcherPredicate<T> predicate, int order) {
+      String predicateValue = predicate.getPredicateValue();
+      if (Objects.isNull(predicateValue)) {
+        return false;
+      }
+      switch (predicate.getType()) {
+        case EQUALS:
+          equalsIndex.put(predicateValue, order);
+          return true;
+        case EQUALS_IGNORE_CASE:
+          equalsIgnoreCaseIndex.put(foldCase(predicateValue), order);
+          return true;
+        case CONTAINS:
+        case STARTS_WITH:
+        case ENDS_WITH:
+          if (predicateValue.isEmpty()) {
+            return false;
+          }
+          containsIndex.put(predicateValue, order);
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    private void build() {
+      automaton = containsIndex.isEmpty() ? null
+          : new AhoCorasickAutomaton<>(Multimaps.asMap(containsIndex));
+    }
+
+    private void collect(T t, BitSet candidates) {
+      String value = transformer.apply(t);
+      if (Objects.isNull(value)) {
+        return;
+      }
+      equalsIndex.get(value).forEach(candidates::set);
+      if (!equalsIgnoreCaseIndex.isEmpty()) {
+        equalsIgnoreCaseIndex.get(foldCase(value)).forEach(candidates::set);
+      }
+      if (Objects.nonNull(automaton)) {
+        automaton.search(value).forEach(candidates::set);
+      }
+    }
+  }
+
+  private static String foldCase(String value) {
+    char[] chars = value.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+    }
+    return new String(chars);
+  }
+
+  private final ImmutableList<V> values;
+  private final ImmutableList<Predicate<T>> predicates;
+  private final ImmutableList<Group<T>> groups;
+  private final BitSet fallbacks;
+
+  @SuppressWarnings("unchecked")
+  public MatcherIndex(Iterable<V> values, Function<V, ? extends Predicate<T>> predicateFunction) {
+    Preconditions.checkNotNull(values);
+    Preconditions.checkNotNull(predicateFunction);
+    this.values = ImmutableList.copyOf(values);
+    this.predicates = this.values.stream().<Predicate<T>>map(predicateFunction::apply)
+        .collect(ImmutableList.toImmutableList());
+
+    Map<Function<T, String>, Group<T>> transformerToGroups = Maps.newIdentityHashMap();
+    List<Group<T>> groups = Lists.newArrayList();
+    fallbacks = new BitSet();
+    for (int i = 0; i < predicates.size(); i++) {
+      Predicate<T> predicate = predicates.get(i);
+      boolean indexed = false;
+      if (predicate instanceof StringMatcherPredicate) {
+        StringMatcherPredicate<T> stringPredicate = (StringMatcherPredicate<T>) predicate;
+        Group<T> group = transformerToGroups.computeIfAbsent(stringPredicate.getTransformer(),
+            transformer -> {
+              Group<T> newGroup = new Group<>(transformer);
+              groups.add(newGroup);
+              return newGroup;
+            });
+        indexed = group.add(stringPredicate, i);
+      }
+      if (!indexed) {
+        fallbacks.set(i);
+      }
+    }
+    groups.forEach(Group::build);
+    this.groups = ImmutableList.copyOf(groups);
+  }
+
+  public Optional<V> find(T t) {
+    return findAll(t).findFirst();
+  }
+
+  // 按插入顺序返回所有匹配的值,按需逐个确认
+  public Stream<V> findAll(T t) {
+    BitSet candidates = (BitSet) fallbacks.clone();
+    groups.forEach(group -> group.collect(t, candidates));
+    // 索引只用于缩小范围,候选项仍按原断言逐个确认
+    return candidates.stream().filter(i -> predicates.get(i).test(t)).mapToObj(values::get);
+  }
+
+  public ImmutableList<V> getValues() {
+    return values;
+  }
+}
@@ -0,0 +1,64 @@
+package com.github.liudaomanbu.excel.matcher;
+
+import java.util.function.Predicate;
+import com.google.common.base.MoreObjects;
+
+// 自适应匹配器中单个断言的采样统计
+public class PredicateStatistics<T> {
+  private final Predicate<T> predicate;
+  private final int declaredIndex;
+  private final int currentIndex;
+  private final long samples;
+  private final long passes;
+  private final long totalNanos;
+
+  public PredicateStatistics(Predicate<T> predicate, int declaredIndex, int currentIndex,
+      long samples, long passes, long totalNanos) {
+    this.predicate = predicate;
+    this.declaredIndex = declaredIndex;
+    this.currentIndex = currentIndex;
+    this.samples = samples;
+    this.passes = passes;
+    this.totalNanos = totalNanos;
+  }
+
+  public double getPassRate() {
+    return samples == 0 ? Double.NaN : (double) passes / samples;
+  }
+
+  public double getAverageNanos() {
+    return samples == 0 ? Double.NaN : (double) totalNanos / samples;
+  }
+
+  public Predicate<T> getPredicate() {
+    return predicate;
+  }
+
+  public int getDeclaredIndex() {
+    return declaredIndex;
+  }
+
+  public int getCurrentIndex() {
+    return currentIndex;
+  }
+
+  public long getSamples() {
+    return samples;
+  }
+
+  public long getPasses() {
+    return passes;
+  }
+
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("predicate", predicate)
+        .add("declaredIndex", declaredIndex).add("currentIndex", currentIndex)
+        .add("samples", samples).add("passRate", getPassRate())
+        .add("averageNanos", getAverageNanos()).toString();
+  }
+}
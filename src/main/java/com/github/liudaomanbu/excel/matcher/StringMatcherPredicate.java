@@ -0,0 +1,37 @@
+package com.github.liudaomanbu.excel.matcher;
+
+import java.util.function.Function;
+import com.github.liudaomanbu.excel.matcher.constant.StringMatcherType;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+// 保留匹配类型与匹配值的字符串断言,便于MatcherIndex建立索引
+public class StringMatcherPredicate<T> extends TransformedPredicate<T, String> {
+  private final StringMatcherType type;
+  private final String predicateValue;
+
+  public StringMatcherPredicate(StringMatcherType type, String predicateValue,
+      Function<T, String> transformer) {
+    super(value -> type.apply(value, predicateValue), transformer);
+    this.type = Preconditions.checkNotNull(type);
+    this.predicateValue = predicateValue;
+  }
+
+  public boolean testValue(String value) {
+    return type.apply(value, predicateValue);
+  }
+
+  public StringMatcherType getType() {
+    return type;
+  }
+
+  public String getPredicateValue() {
+    return predicateValue;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("type", type)
+        .add("predicateValue", predicateValue).toString();
+  }
+}
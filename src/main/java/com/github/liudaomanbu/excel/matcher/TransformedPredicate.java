@@ -0,0 +1,29 @@
+package com.github.liudaomanbu.excel.matcher;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import com.google.common.base.Preconditions;
+
+// 先转换再断言,保留transformer以便编译时合并相同的转换
+public class TransformedPredicate<T, R> implements Predicate<T> {
+  private final Predicate<R> predicate;
+  private final Function<T, R> transformer;
+
+  public TransformedPredicate(Predicate<R> predicate, Function<T, R> transformer) {
+    this.predicate = Preconditions.checkNotNull(predicate);
+    this.transformer = Preconditions.checkNotNull(transformer);
+  }
+
+  @Override
+  public boolean test(T t) {
+    return predicate.test(transformer.apply(t));
+  }
+
+  public Predicate<R> getPredicate() {
+    return predicate;
+  }
+
+  public Function<T, R> getTransformer() {
+    return transformer;
+  }
+}
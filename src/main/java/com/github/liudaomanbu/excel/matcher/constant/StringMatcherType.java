@@ -1,6 +1,7 @@
 package com.github.liudaomanbu.excel.matcher.constant;
 
 import java.util.Objects;
+import com.github.liudaomanbu.excel.util.PatternCache;
 
 public enum StringMatcherType{
   EQUALS {
@@ -24,7 +25,7 @@ public enum StringMatcherType{
   MATCHES {
     @Override
     public boolean apply(String value, String predicateValue) {
-      return Objects.nonNull(value) && value.matches(predicateValue);
+      return Objects.nonNull(value) && PatternCache.matches(value, predicateValue);
     }
   },
   STARTS_WITH {
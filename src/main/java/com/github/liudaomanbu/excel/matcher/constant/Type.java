@@ -9,12 +9,63 @@ public enum Type {
     public <T> Predicate<T> reduce(Iterable<Predicate<T>> predicates) {
       return Streams.stream(predicates).reduce(Predicate::and).get();
     }
+
+    @Override
+    public <T> boolean test(Predicate<T>[] predicates, T t) {
+      for (Predicate<T> predicate : predicates) {
+        if (!predicate.test(t)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public boolean shortCircuitValue() {
+      return false;
+    }
+
+    @Override
+    public double score(double passRate, double averageNanos) {
+      return averageNanos / Math.max(1 - passRate, MIN_PROBABILITY);
+    }
   },
   OR {
     @Override
     public <T> Predicate<T> reduce(Iterable<Predicate<T>> predicates) {
       return Streams.stream(predicates).reduce(Predicate::or).get();
     }
+
+    @Override
+    public <T> boolean test(Predicate<T>[] predicates, T t) {
+      for (Predicate<T> predicate : predicates) {
+        if (predicate.test(t)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public boolean shortCircuitValue() {
+      return true;
+    }
+
+    @Override
+    public double score(double passRate, double averageNanos) {
+      return averageNanos / Math.max(passRate, MIN_PROBABILITY);
+    }
   };
+  private static final double MIN_PROBABILITY = 1e-3;
+
   public abstract <T> Predicate<T> reduce(Iterable<Predicate<T>> predicates);
+
+  // 短路求值,不创建中间对象
+  public abstract <T> boolean test(Predicate<T>[] predicates, T t);
+
+  // 任一断言返回该值即可确定结果
+  public abstract boolean shortCircuitValue();
+
+  // 单个断言的排序分数,越小越先执行,即每次短路的期望耗时
+  public abstract double score(double passRate, double averageNanos);
 }
@@ -9,9 +9,12 @@ import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.util.TypeUtils;
+import com.github.liudaomanbu.excel.parse.result.StandardCell;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.reflect.TypeToken;
@@ -21,11 +24,7 @@ public enum BaseDataType implements DataType {
   DECIMAL(float.class, Float.class, double.class, Double.class, BigDecimal.class, String.class) {
     @Override
     public boolean test(Object value) {
-      try {
-        return TypeUtils.castToBigDecimal(value).scale() > 0;
-      } catch (NumberFormatException e) {
-        return false;
-      }
+      return testNumber(value);
     }
   },
   // 整数
@@ -36,43 +35,28 @@ public enum BaseDataType implements DataType {
       .collect(ImmutableSet.toImmutableSet())) {
     @Override
     public boolean test(Object value) {
-      try {
-        TypeUtils.castToBigDecimal(value).toBigIntegerExact();
-        return true;
-      } catch (ArithmeticException | NumberFormatException e) {
-        return false;
-      }
+      return testNumber(value);
     }
   },
   // 数字
   NUMBER(DECIMAL.types) {
     @Override
     public boolean test(Object value) {
-      return DECIMAL.test(value) || WHOLE_NUMBER.test(value);
+      return testNumber(value);
     }
   },
   // 正数
   POSITIVE_NUMBER(NUMBER.types) {
     @Override
     public boolean test(Object value) {
-      try {
-        return NUMBER.test(value)
-            && TypeUtils.castToBigDecimal(value).compareTo(BigDecimal.ZERO) > 0;
-      } catch (NumberFormatException e) {
-        return false;
-      }
+      return testNumber(value);
     }
   },
   // 负数
   NEGATIVE_NUMBER(NUMBER.types) {
     @Override
     public boolean test(Object value) {
-      try {
-        return NUMBER.test(value)
-            && TypeUtils.castToBigDecimal(value).compareTo(BigDecimal.ZERO) < 0;
-      } catch (NumberFormatException e) {
-        return false;
-      }
+      return testNumber(value);
     }
   },
   // 正整数
@@ -80,7 +64,7 @@ public enum BaseDataType implements DataType {
       .collect(ImmutableSet.toImmutableSet())) {
     @Override
     public boolean test(Object value) {
-      return POSITIVE_NUMBER.test(value) && WHOLE_NUMBER.test(value);
+      return testNumber(value);
     }
   },
   // 负整数
@@ -88,19 +72,14 @@ public enum BaseDataType implements DataType {
       .collect(ImmutableSet.toImmutableSet())) {
     @Override
     public boolean test(Object value) {
-      return NEGATIVE_NUMBER.test(value) && WHOLE_NUMBER.test(value);
+      return testNumber(value);
     }
   },
   // 自然数
   NATURAL_NUMBER(POSITIVE_WHOLE_NUMBER.types) {
     @Override
     public boolean test(Object value) {
-      try {
-        return POSITIVE_WHOLE_NUMBER.test(value)
-            || WHOLE_NUMBER.cast(value, BigInteger.class).equals(BigInteger.ZERO);
-      } catch (ArithmeticException | NumberFormatException e) {
-        return false;
-      }
+      return testNumber(value);
     }
   },
   // 正小数
@@ -108,7 +87,7 @@ public enum BaseDataType implements DataType {
       .collect(ImmutableSet.toImmutableSet())) {
     @Override
     public boolean test(Object value) {
-      return DECIMAL.test(value) && POSITIVE_NUMBER.test(value);
+      return testNumber(value);
     }
   },
   // 负小数
@@ -116,7 +95,7 @@ public enum BaseDataType implements DataType {
       .collect(ImmutableSet.toImmutableSet())) {
     @Override
     public boolean test(Object value) {
-      return DECIMAL.test(value) && NEGATIVE_NUMBER.test(value);
+      return testNumber(value);
     }
   },
   // 日期
@@ -246,56 +225,57 @@ public enum BaseDataType implements DataType {
   WORD(String.class) {
     @Override
     public boolean test(Object t) {
-      return STRING.cast(t, String.class).matches(WORD_REGEX);
+      return allCodePointsMatch(STRING.cast(t, String.class), BaseDataType::isWordCodePoint);
     }
   },
   // 英文或数字
   ENGLISH_OR_NUMBER(String.class) {
     @Override
     public boolean test(Object t) {
-      return STRING.cast(t, String.class).matches(ENGLISH_OR_NUMBER_REGEX);
+      return allCodePointsMatch(STRING.cast(t, String.class),
+          codePoint -> isEnglish(codePoint) || isNumber(codePoint));
     }
   },
   // 英文
   ENGLISH(String.class) {
     @Override
     public boolean test(Object t) {
-      return STRING.cast(t, String.class).matches(ENGLISH_REGEX);
+      return allCodePointsMatch(STRING.cast(t, String.class), BaseDataType::isEnglish);
     }
   },
   // 中文
   CHINESE(String.class) {
     @Override
     public boolean test(Object t) {
-      return STRING.cast(t, String.class).matches(CHINESE_REGEX);
+      return allCodePointsMatch(STRING.cast(t, String.class), BaseDataType::isChinese);
     }
   },
   // 邮箱
   EMAIL(String.class) {
     @Override
     public boolean test(Object t) {
-      return STRING.cast(t, String.class).matches(EMAIL_REGEX);
+      return EMAIL_PATTERN.matcher(STRING.cast(t, String.class)).matches();
     }
   },
   // 电话
   PHONE(String.class) {
     @Override
     public boolean test(Object t) {
-      return STRING.cast(t, String.class).matches(PHONE_REGEX);
+      return PHONE_PATTERN.matcher(STRING.cast(t, String.class)).matches();
     }
   },
   // 手机号码
   TELEPHONE(String.class) {
     @Override
     public boolean test(Object t) {
-      return STRING.cast(t, String.class).matches(TELEPHONE_REGEX);
+      return TELEPHONE_PATTERN.matcher(STRING.cast(t, String.class)).matches();
     }
   },
   // 身份证号码
   ID_CARD_NUMBER(String.class) {
     @Override
     public boolean test(Object t) {
-      return STRING.cast(t, String.class).matches(ID_CARD_NUMBER_REGEX);
+      return ID_CARD_NUMBER_PATTERN.matcher(STRING.cast(t, String.class)).matches();
     }
   },
   //boolean
@@ -330,16 +310,56 @@ public enum BaseDataType implements DataType {
    }
  };
 
-  private static final String WORD_REGEX = "^(\\w|[\\u0391-\\uFFE5])*$";
-  private static final String ENGLISH_OR_NUMBER_REGEX = "^[A-Za-z0-9]*$";
-  private static final String ENGLISH_REGEX = "^[A-Za-z]*$";
-  private static final String CHINESE_REGEX = "^[\\u0391-\\uFFE5]*$";
-  private static final String PHONE_REGEX = "^(\\d{3,4})-\\d{7,8}$";
-  private static final String EMAIL_REGEX =
-      "^\\w+([-+.]\\w+)*@\\w+([-.]\\\\w+)*\\.\\w+([-.]\\w+)*$";
-  private static final String TELEPHONE_REGEX =
-      "^1(3[0-9]|4[57]|5[0-35-9]|7[0135678]|8[0-9])\\d{8}$";
-  private static final String ID_CARD_NUMBER_REGEX = "(^\\d{15}$)|(^\\d{18}$)|(^\\d{17}(\\d|X|x)$)";
+  // WORD,ENGLISH_OR_NUMBER,ENGLISH,CHINESE只是字符类,逐个码点判断,不使用正则
+  private static final Pattern PHONE_PATTERN = Pattern.compile("^(\\d{3,4})-\\d{7,8}$");
+  private static final Pattern EMAIL_PATTERN =
+      Pattern.compile("^\\w+([-+.]\\w+)*@\\w+([-.]\\\\w+)*\\.\\w+([-.]\\w+)*$");
+  private static final Pattern TELEPHONE_PATTERN =
+      Pattern.compile("^1(3[0-9]|4[57]|5[0-35-9]|7[0135678]|8[0-9])\\d{8}$");
+  private static final Pattern ID_CARD_NUMBER_PATTERN =
+      Pattern.compile("(^\\d{15}$)|(^\\d{18}$)|(^\\d{17}(\\d|X|x)$)");
+
+  // 数字类型共用一次分类的结果
+  boolean testNumber(Object value) {
+    return (NumberClassifier.classify(value) & NumberClassifier.bit(this)) != 0;
+  }
+
+  @Override
+  public boolean test(StandardCell cell) {
+    if (NumberClassifier.isNumberType(this)) {
+      return (cell.getNumberTypeMask() & NumberClassifier.bit(this)) != 0;
+    }
+    return test(cell.getValue());
+  }
+
+  private static boolean allCodePointsMatch(String value, IntPredicate predicate) {
+    for (int i = 0; i < value.length();) {
+      int codePoint = value.codePointAt(i);
+      if (!predicate.test(codePoint)) {
+        return false;
+      }
+      i += Character.charCount(codePoint);
+    }
+    return true;
+  }
+
+  private static boolean isEnglish(int codePoint) {
+    return (codePoint >= 'A' && codePoint <= 'Z') || (codePoint >= 'a' && codePoint <= 'z');
+  }
+
+  private static boolean isNumber(int codePoint) {
+    return codePoint >= '0' && codePoint <= '9';
+  }
+
+  private static boolean isChinese(int codePoint) {
+    return codePoint >= '\u0391' && codePoint <= '\uFFE5';
+  }
+
+  // 与正则\w一致,即[a-zA-Z_0-9]
+  private static boolean isWordCodePoint(int codePoint) {
+    return isEnglish(codePoint) || isNumber(codePoint) || codePoint == '_' || isChinese(codePoint);
+  }
+
   private final ImmutableCollection<TypeToken<?>> types;
 
   private BaseDataType(ImmutableCollection<TypeToken<?>> types) {
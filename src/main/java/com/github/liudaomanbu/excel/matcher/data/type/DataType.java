@@ -1,6 +1,7 @@
 package com.github.liudaomanbu.excel.matcher.data.type;
 
 import java.util.function.Predicate;
+import com.github.liudaomanbu.excel.parse.result.StandardCell;
 import com.google.common.reflect.TypeToken;
 
 
@@ -13,4 +14,12 @@ public interface DataType extends Predicate<Object> {
   <T> T cast(Object value, Class<T> type);
   
   <T> T cast(Object value, TypeToken<T> type);
+
+  default boolean test(StandardCell cell) {
+    return test(cell.getValue());
+  }
+
+  default <T> T cast(StandardCell cell, Class<T> type) {
+    return cast(cell.getValue(), type);
+  }
 }
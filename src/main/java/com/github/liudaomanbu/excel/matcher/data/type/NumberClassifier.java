@@ -0,0 +1,117 @@
+package com.github.liudaomanbu.excel.matcher.data.type;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import com.alibaba.fastjson.util.TypeUtils;
+import com.google.common.collect.ImmutableSet;
+
+// 一次解析得到数值满足的全部数字类BaseDataType,结果为以ordinal为位的掩码
+// Double/Float/整数类型直接判断,不创建BigDecimal
+public class NumberClassifier {
+  public static final ImmutableSet<BaseDataType> NUMBER_TYPES = ImmutableSet.of(
+      BaseDataType.DECIMAL, BaseDataType.WHOLE_NUMBER, BaseDataType.NUMBER,
+      BaseDataType.POSITIVE_NUMBER, BaseDataType.NEGATIVE_NUMBER,
+      BaseDataType.POSITIVE_WHOLE_NUMBER, BaseDataType.NEGATIVE_WHOLE_NUMBER,
+      BaseDataType.NATURAL_NUMBER, BaseDataType.POSITIVE_DECIMAL, BaseDataType.NEGATIVE_DECIMAL);
+  private static final int NONE = 0;
+
+  public static int bit(BaseDataType type) {
+    return 1 << type.ordinal();
+  }
+
+  public static boolean isNumberType(BaseDataType type) {
+    return NUMBER_TYPES.contains(type);
+  }
+
+  public static int classify(@Nullable Object value) {
+    if (value instanceof Double || value instanceof Float) {
+      Number number = (Number) value;
+      if (Double.isNaN(number.doubleValue()) || Double.isInfinite(number.doubleValue())) {
+        return NONE;
+      }
+      return classifyPlainNumber(value.toString());
+    }
+    if (value instanceof Long || value instanceof Integer || value instanceof Short
+        || value instanceof Byte) {
+      return mask(false, true, Long.signum(((Number) value).longValue()));
+    }
+    if (value instanceof BigInteger) {
+      return mask(false, true, ((BigInteger) value).signum());
+    }
+    BigDecimal decimal;
+    try {
+      decimal = TypeUtils.castToBigDecimal(value);
+    } catch (NumberFormatException e) {
+      return NONE;
+    }
+    if (Objects.isNull(decimal)) {
+      return NONE;
+    }
+    boolean whole = decimal.signum() == 0 || decimal.stripTrailingZeros().scale() <= 0;
+    return mask(decimal.scale() > 0, whole, decimal.signum());
+  }
+
+  // 解析Double.toString/Float.toString的结果,格式为-?d+.d+(E-?d+)?
+  private static int classifyPlainNumber(String value) {
+    int index = 0;
+    boolean negative = value.charAt(index) == '-';
+    if (negative) {
+      index++;
+    }
+    int pointIndex = value.indexOf('.');
+    int exponentIndex = value.indexOf('E');
+    int mantissaEnd = exponentIndex < 0 ? value.length() : exponentIndex;
+    int exponent = exponentIndex < 0 ? 0 : Integer.parseInt(value.substring(exponentIndex + 1));
+    int fractionLength = mantissaEnd - pointIndex - 1;
+
+    boolean nonZero = false;
+    boolean whole = true;
+    for (int i = index; i < mantissaEnd; i++) {
+      char c = value.charAt(i);
+      if (c == '.' || c == '0') {
+        continue;
+      }
+      nonZero = true;
+      // 该位数字的10的幂次,小于0说明在小数部分
+      int power = (i < pointIndex ? pointIndex - i - 1 : pointIndex - i) + exponent;
+      if (power < 0) {
+        whole = false;
+      }
+    }
+    int signum = nonZero ? (negative ? -1 : 1) : 0;
+    return mask(fractionLength - exponent > 0, whole, signum);
+  }
+
+  private static int mask(boolean decimal, boolean whole, int signum) {
+    int mask = NONE;
+    if (decimal) {
+      mask |= bit(BaseDataType.DECIMAL);
+    }
+    if (whole) {
+      mask |= bit(BaseDataType.WHOLE_NUMBER);
+    }
+    if (!decimal && !whole) {
+      return mask;
+    }
+    mask |= bit(BaseDataType.NUMBER);
+    if (signum > 0) {
+      mask |= bit(BaseDataType.POSITIVE_NUMBER);
+      mask |= whole ? bit(BaseDataType.POSITIVE_WHOLE_NUMBER) : NONE;
+      mask |= decimal ? bit(BaseDataType.POSITIVE_DECIMAL) : NONE;
+    } else if (signum < 0) {
+      mask |= bit(BaseDataType.NEGATIVE_NUMBER);
+      mask |= whole ? bit(BaseDataType.NEGATIVE_WHOLE_NUMBER) : NONE;
+      mask |= decimal ? bit(BaseDataType.NEGATIVE_DECIMAL) : NONE;
+    }
+    if (whole && signum >= 0) {
+      mask |= bit(BaseDataType.NATURAL_NUMBER);
+    }
+    return mask;
+  }
+
+  private NumberClassifier() {
+    throw new AssertionError();
+  }
+}
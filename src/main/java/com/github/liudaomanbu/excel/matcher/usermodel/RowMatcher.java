@@ -0,0 +1,69 @@
+package com.github.liudaomanbu.excel.matcher.usermodel;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import com.github.liudaomanbu.excel.matcher.BaseMatcher;
+import com.github.liudaomanbu.excel.matcher.StringMatcherPredicate;
+import com.github.liudaomanbu.excel.matcher.constant.ComparableMatcherType;
+import com.github.liudaomanbu.excel.matcher.constant.StringMatcherType;
+import com.github.liudaomanbu.excel.matcher.data.type.BaseDataType;
+import com.github.liudaomanbu.excel.parse.result.DataRow;
+import com.github.liudaomanbu.excel.parse.result.Menu;
+import com.github.liudaomanbu.excel.parse.result.StandardCell;
+import com.google.common.collect.Maps;
+
+// 按字段名对一行数据中的单元格值断言,用于在校验与转换之前过滤行
+public class RowMatcher extends BaseMatcher<Map<Menu, StandardCell>> {
+  // 同一字段共用同一个取值函数,编译后相邻的同一字段断言只取值一次,不相邻时每个断言各取值一次
+  private final Map<String, Function<Map<Menu, StandardCell>, Object>> fieldNameToValues =
+      Maps.newHashMap();
+
+  private static StandardCell getCell(Map<Menu, StandardCell> row, String fieldName) {
+    if (row instanceof DataRow) {
+      return ((DataRow) row).getCell(fieldName);
+    }
+    return row.entrySet().stream()
+        .filter(entry -> Objects.equals(fieldName, entry.getKey().getFieldName())).findFirst()
+        .map(Entry::getValue).orElse(null);
+  }
+
+  private Function<Map<Menu, StandardCell>, Object> value(String fieldName) {
+    return fieldNameToValues.computeIfAbsent(fieldName, key -> row -> {
+      StandardCell cell = getCell(row, key);
+      return Objects.isNull(cell) ? null : cell.getValue();
+    });
+  }
+
+  public RowMatcher addDataPredicate(String fieldName, Predicate<Object> predicate) {
+    add(predicate, value(fieldName));
+    return this;
+  }
+
+  public <T> RowMatcher addDataPredicate(String fieldName, Predicate<T> predicate,
+      Function<Object, T> transformer) {
+    add(value -> predicate.test(transformer.apply(value)), value(fieldName));
+    return this;
+  }
+
+  public RowMatcher addDataPredicate(String fieldName, StringMatcherType type,
+      String predicateValue, Function<Object, String> transformer) {
+    add(new StringMatcherPredicate<>(type, predicateValue, transformer), value(fieldName));
+    return this;
+  }
+
+  public <T extends Comparable<T>> RowMatcher addDataPredicate(String fieldName,
+      ComparableMatcherType type, T predicateValue, Function<Object, T> transformer) {
+    add(value -> type.apply(transformer.apply(value), predicateValue), value(fieldName));
+    return this;
+  }
+
+  public RowMatcher addStringValuePredicate(String fieldName, StringMatcherType type,
+      String predicateValue) {
+    add(new StringMatcherPredicate<>(type, predicateValue,
+        value -> BaseDataType.STRING.cast(value, String.class)), value(fieldName));
+    return this;
+  }
+}
@@ -5,31 +5,45 @@ import java.util.function.Predicate;
 import org.apache.poi.hssf.util.CellReference;
 import org.apache.poi.ss.usermodel.CellType;
 import com.github.liudaomanbu.excel.matcher.BaseMatcher;
+import com.github.liudaomanbu.excel.matcher.StringMatcherPredicate;
 import com.github.liudaomanbu.excel.matcher.constant.ComparableMatcherType;
 import com.github.liudaomanbu.excel.matcher.constant.StringMatcherType;
+import com.github.liudaomanbu.excel.matcher.data.type.BaseDataType;
 import com.github.liudaomanbu.excel.parse.result.StandardCell;
 
 public class StandardCellMatcher extends BaseMatcher<StandardCell> {
+  // 数据断言共用同一个取值函数,编译后每个单元格只取值一次
+  public static final Function<StandardCell, Object> VALUE = StandardCell::getValue;
+  // 共用同一个转换函数,MatcherIndex才能将多个断言合并索引
+  public static final Function<StandardCell, String> STRING_VALUE =
+      cell -> BaseDataType.STRING.cast(cell.getValue(), String.class);
+
   public StandardCellMatcher addDataPredicate(Predicate<Object> predicate) {
-    add(predicate, StandardCell::getValue);
+    add(predicate, VALUE);
     return this;
   }
 
   public <T> StandardCellMatcher addDataPredicate(Predicate<T> predicate,
       Function<Object, T> transformer) {
-    add(predicate, transformer.compose(StandardCell::getValue));
+    add(value -> predicate.test(transformer.apply(value)), VALUE);
     return this;
   }
 
   public StandardCellMatcher addDataPredicate(StringMatcherType type, String predicateValue,
       Function<Object, String> transformer) {
-    add(type, predicateValue, transformer.compose(StandardCell::getValue));
+    add(new StringMatcherPredicate<>(type, predicateValue, transformer), VALUE);
     return this;
   }
 
   public <T extends Comparable<T>> StandardCellMatcher addDataPredicate(ComparableMatcherType type,
       T predicateValue, Function<Object, T> transformer) {
-    add(type, predicateValue, transformer.compose(StandardCell::getValue));
+    add(value -> type.apply(transformer.apply(value), predicateValue), VALUE);
+    return this;
+  }
+
+  public StandardCellMatcher addStringValuePredicate(StringMatcherType type,
+      String predicateValue) {
+    add(type, predicateValue, STRING_VALUE);
     return this;
   }
 
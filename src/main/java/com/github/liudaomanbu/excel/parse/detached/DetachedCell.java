@@ -0,0 +1,40 @@
+package com.github.liudaomanbu.excel.parse.detached;
+
+import com.github.liudaomanbu.excel.parse.result.StandardCell;
+
+// 单元格的坐标与解析后的值,不引用sheet与Cell
+public class DetachedCell {
+  private final int firstRow;
+  private final int lastRow;
+  private final int firstColumn;
+  private final int lastColumn;
+  private final Object value;
+
+  public DetachedCell(StandardCell cell) {
+    this.firstRow = cell.getFirstRow();
+    this.lastRow = cell.getLastRow();
+    this.firstColumn = cell.getFirstColumn();
+    this.lastColumn = cell.getLastColumn();
+    this.value = cell.getValue();
+  }
+
+  public int getFirstRow() {
+    return firstRow;
+  }
+
+  public int getLastRow() {
+    return lastRow;
+  }
+
+  public int getFirstColumn() {
+    return firstColumn;
+  }
+
+  public int getLastColumn() {
+    return lastColumn;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+}
@@ -0,0 +1,60 @@
+package com.github.liudaomanbu.excel.parse.detached;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import com.github.liudaomanbu.excel.config.MenuConfig;
+import com.github.liudaomanbu.excel.parse.result.Menu;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+public class DetachedMenu {
+  private final MenuConfig config;
+  private final DetachedCell cell;
+  private final String name;
+  private final String fullName;
+  private final ImmutableList<DetachedMenu> childrens;
+
+  public DetachedMenu(Menu menu) {
+    this(menu, Maps.newIdentityHashMap());
+  }
+
+  // menuToDetached记录整棵菜单树的对应关系,供DetachedTable查找数据菜单
+  DetachedMenu(Menu menu, Map<Menu, DetachedMenu> menuToDetached) {
+    this.config = menu.getConfig();
+    this.cell = new DetachedCell(menu.getCell());
+    this.name = menu.getName();
+    this.fullName = menu.getFullName();
+    menuToDetached.put(menu, this);
+    this.childrens = menu.getChildrens().stream()
+        .map(children -> new DetachedMenu(children, menuToDetached))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  public MenuConfig getConfig() {
+    return config;
+  }
+
+  public DetachedCell getCell() {
+    return cell;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getFullName() {
+    return fullName;
+  }
+
+  public Field getField() {
+    return config.getField();
+  }
+
+  public String getFieldName() {
+    return config.getFieldName();
+  }
+
+  public ImmutableList<DetachedMenu> getChildrens() {
+    return childrens;
+  }
+}
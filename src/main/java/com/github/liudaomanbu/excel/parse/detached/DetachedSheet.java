@@ -0,0 +1,44 @@
+package com.github.liudaomanbu.excel.parse.detached;
+
+import java.util.Collection;
+import java.util.Objects;
+import com.github.liudaomanbu.excel.config.SheetConfig;
+import com.github.liudaomanbu.excel.parse.error.ValidationError;
+import com.github.liudaomanbu.excel.parse.result.SheetParseResult;
+import com.google.common.collect.ImmutableList;
+
+public class DetachedSheet {
+  private final SheetConfig config;
+  private final String sheetName;
+  private final ImmutableList<DetachedTable> tables;
+
+  public DetachedSheet(SheetParseResult sheetParseResult) {
+    this.config = sheetParseResult.getConfig();
+    this.sheetName = sheetParseResult.getSheet().getSheetName();
+    this.tables = sheetParseResult.getTables().stream().map(DetachedTable::new)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  public ImmutableList<ValidationError<DetachedSheet>> getAllErrors() {
+    return tables.stream().map(DetachedTable::getAllErrors).flatMap(Collection::stream)
+        .map(error -> new ValidationError<>(this, sheetName + error.getMessage()))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  public DetachedTable getById(Object id) {
+    return tables.stream().filter(table -> Objects.equals(table.getConfig().getId(), id))
+        .findAny().orElse(null);
+  }
+
+  public SheetConfig getConfig() {
+    return config;
+  }
+
+  public String getSheetName() {
+    return sheetName;
+  }
+
+  public ImmutableList<DetachedTable> getTables() {
+    return tables;
+  }
+}
@@ -0,0 +1,124 @@
+package com.github.liudaomanbu.excel.parse.detached;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import com.alibaba.fastjson.JSONObject;
+import com.github.liudaomanbu.excel.config.TableConfig;
+import com.github.liudaomanbu.excel.parse.error.ValidationError;
+import com.github.liudaomanbu.excel.parse.result.Menu;
+import com.github.liudaomanbu.excel.parse.result.Table;
+import com.github.liudaomanbu.excel.parse.result.TableData;
+import com.github.liudaomanbu.excel.util.BeanBinder;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.reflect.TypeToken;
+
+// 表格解析结果的副本,菜单与数据单元格只保存坐标与值,可在关闭Workbook后使用
+public class DetachedTable {
+  private final TableConfig config;
+  private final ImmutableList<DetachedMenu> topMenus;
+  // 与TableData中的数据菜单顺序一致
+  private final ImmutableList<DetachedMenu> dataMenus;
+  private final ImmutableMap<String, Integer> fieldNameToOrdinals;
+  // 每行按数据菜单序号保存单元格,缺失的单元格为null
+  private final ImmutableList<DetachedCell[]> rows;
+  private final ImmutableList<ValidationError<DetachedTable>> errors;
+
+  public DetachedTable(Table table) {
+    this.config = table.getConfig();
+    Map<Menu, DetachedMenu> menuToDetached = Maps.newIdentityHashMap();
+    this.topMenus = table.getTopMenus().stream()
+        .map(menu -> new DetachedMenu(menu, menuToDetached))
+        .collect(ImmutableList.toImmutableList());
+
+    TableData data = table.getData();
+    ImmutableList<Menu> menus = data.getMenus();
+    this.dataMenus =
+        menus.stream().map(menuToDetached::get).collect(ImmutableList.toImmutableList());
+    Map<String, Integer> fieldNameToOrdinals = Maps.newHashMap();
+    for (int i = 0; i < dataMenus.size(); i++) {
+      String fieldName = dataMenus.get(i).getFieldName();
+      if (Objects.nonNull(fieldName)) {
+        fieldNameToOrdinals.putIfAbsent(fieldName, i);
+      }
+    }
+    this.fieldNameToOrdinals = ImmutableMap.copyOf(fieldNameToOrdinals);
+    this.rows = data.streamMenuToValueCells().map(row -> {
+      DetachedCell[] cells = new DetachedCell[menus.size()];
+      for (int i = 0; i < menus.size(); i++) {
+        cells[i] = Optional.ofNullable(row.get(menus.get(i))).map(DetachedCell::new).orElse(null);
+      }
+      return cells;
+    }).collect(ImmutableList.toImmutableList());
+    this.errors = table.getAllErrors().stream()
+        .map(error -> new ValidationError<>(this, error.getMessage()))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  public DetachedCell getCell(int rowIndex, int ordinal) {
+    return rows.get(rowIndex)[ordinal];
+  }
+
+  public Object getValue(int rowIndex, String fieldName) {
+    Integer ordinal = fieldNameToOrdinals.get(fieldName);
+    Preconditions.checkArgument(Objects.nonNull(ordinal), "no data menu for field %s", fieldName);
+    return Optional.ofNullable(getCell(rowIndex, ordinal)).map(DetachedCell::getValue)
+        .orElse(null);
+  }
+
+  // 与ExcelUtil.toJsonObject一致,按菜单的DataType转换为字段类型
+  private Map<String, Object> getFieldNameToValues(int rowIndex) {
+    Map<String, Object> fieldNameToValues = Maps.newLinkedHashMap();
+    for (int i = 0; i < dataMenus.size(); i++) {
+      DetachedCell cell = getCell(rowIndex, i);
+      if (Objects.isNull(cell)) {
+        continue;
+      }
+      DetachedMenu menu = dataMenus.get(i);
+      Field field = menu.getField();
+      Object value = Objects.isNull(field) ? cell.getValue()
+          : menu.getConfig().getDataConfig().getDataType().cast(cell.getValue(), field.getType());
+      fieldNameToValues.put(menu.getFieldName(), value);
+    }
+    return fieldNameToValues;
+  }
+
+  public JSONObject toJsonObject(int rowIndex) {
+    return new JSONObject(getFieldNameToValues(rowIndex));
+  }
+
+  // 与TableData.getDatas相同,经BeanBinder写入对象
+  @SuppressWarnings("unchecked")
+  public <T> ImmutableList<T> getDatas(TypeToken<T> type) {
+    BeanBinder<T> binder = BeanBinder.of((Class<T>) type.getRawType());
+    ImmutableList.Builder<T> builder = ImmutableList.builder();
+    for (int i = 0; i < rows.size(); i++) {
+      builder.add(binder.bindValues(getFieldNameToValues(i)));
+    }
+    return builder.build();
+  }
+
+  public TableConfig getConfig() {
+    return config;
+  }
+
+  public ImmutableList<DetachedMenu> getTopMenus() {
+    return topMenus;
+  }
+
+  public ImmutableList<DetachedMenu> getDataMenus() {
+    return dataMenus;
+  }
+
+  public int getRowCount() {
+    return rows.size();
+  }
+
+  public ImmutableList<ValidationError<DetachedTable>> getAllErrors() {
+    return errors;
+  }
+}
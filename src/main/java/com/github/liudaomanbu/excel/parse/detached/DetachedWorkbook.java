@@ -0,0 +1,43 @@
+package com.github.liudaomanbu.excel.parse.detached;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+import com.github.liudaomanbu.excel.config.WorkbookConfig;
+import com.github.liudaomanbu.excel.parse.error.ValidationError;
+import com.github.liudaomanbu.excel.parse.result.WorkbookParseResult;
+import com.google.common.collect.ImmutableList;
+
+// 不引用Workbook、Sheet与Cell的解析结果,生成后即可关闭Workbook
+public class DetachedWorkbook {
+  private final WorkbookConfig config;
+  private final ImmutableList<DetachedSheet> sheets;
+  private final ImmutableList<ValidationError<DetachedWorkbook>> errors;
+
+  public DetachedWorkbook(WorkbookParseResult workbookParseResult) {
+    this.config = workbookParseResult.getConfig();
+    this.sheets = workbookParseResult.getSheetParseResults().stream().map(DetachedSheet::new)
+        .collect(ImmutableList.toImmutableList());
+    this.errors = workbookParseResult.getErrors().stream()
+        .map(error -> new ValidationError<>(this, error.getMessage()))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  public ImmutableList<ValidationError<DetachedWorkbook>> getAllErrors() {
+    return Stream.concat(errors.stream(),
+        sheets.stream().map(DetachedSheet::getAllErrors).flatMap(Collection::stream)
+            .map(error -> new ValidationError<>(this, error.getMessage())))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  public WorkbookConfig getConfig() {
+    return config;
+  }
+
+  public ImmutableList<ValidationError<DetachedWorkbook>> getErrors() {
+    return errors;
+  }
+
+  public ImmutableList<DetachedSheet> getSheets() {
+    return sheets;
+  }
+}
@@ -0,0 +1,74 @@
+package com.github.liudaomanbu.excel.parse.result;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import com.google.common.base.Preconditions;
+
+// 一个数据菜单的整列数据,行顺序与TableData中的行一致,空值用位图记录
+public abstract class Column {
+  private final Menu menu;
+  private final int size;
+  private final BitSet nulls;
+
+  // 直接读取值单元格,没有值的单元格记为空值
+  Column(Menu menu, List<StandardCell> cells) {
+    this.menu = Preconditions.checkNotNull(menu);
+    this.size = cells.size();
+    this.nulls = new BitSet(size);
+    for (int i = 0; i < size; i++) {
+      if (Objects.isNull(getValueType(cells.get(i)))) {
+        nulls.set(i);
+      }
+    }
+  }
+
+  // 与ExcelUtil.getValue一致,公式取缓存结果的类型,没有值时为null
+  static CellType getValueType(StandardCell cell) {
+    Cell valueCell = Objects.isNull(cell) ? null : cell.getValueCell();
+    if (Objects.isNull(valueCell)) {
+      return null;
+    }
+    CellType type = valueCell.getCellTypeEnum();
+    if (CellType.FORMULA.equals(type)) {
+      type = valueCell.getCachedFormulaResultTypeEnum();
+    }
+    switch (type) {
+      case NUMERIC:
+      case STRING:
+      case BOOLEAN:
+        return type;
+      default:
+        return null;
+    }
+  }
+
+  // 转换结果为null时由子类标记为空值
+  void setNull(int index) {
+    nulls.set(index);
+  }
+
+  public Menu getMenu() {
+    return menu;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isNull(int index) {
+    Preconditions.checkElementIndex(index, size);
+    return nulls.get(index);
+  }
+
+  public int getNullCount() {
+    return nulls.cardinality();
+  }
+
+  // 按菜单的DataType转换单元格的值,数值列只对非数字单元格使用
+  <T> T cast(StandardCell cell, Class<T> type) {
+    return menu.getData().getConfig().getDataType().cast(cell, type);
+  }
+}
@@ -0,0 +1,123 @@
+package com.github.liudaomanbu.excel.parse.result;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import com.google.common.collect.ImmutableList;
+
+// 表格中的一行数据,单元格按数据菜单的序号保存,菜单与序号的对应由RowAssembler提供,不可修改
+public class DataRow extends AbstractMap<Menu, StandardCell> {
+  private final RowAssembler assembler;
+  private final int rowIndex;
+  private final StandardCell[] cells;
+  private final int size;
+
+  DataRow(RowAssembler assembler, int rowIndex, StandardCell[] cells) {
+    this.assembler = assembler;
+    this.rowIndex = rowIndex;
+    this.cells = cells;
+    int count = 0;
+    for (StandardCell cell : cells) {
+      if (Objects.nonNull(cell)) {
+        count++;
+      }
+    }
+    this.size = count;
+  }
+
+  // 没有任何值的空行不作为数据
+  boolean hasValue() {
+    for (StandardCell cell : cells) {
+      if (Objects.nonNull(cell) && Objects.nonNull(cell.getValue())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public StandardCell getCell(int ordinal) {
+    return cells[ordinal];
+  }
+
+  public StandardCell getCell(String fieldName) {
+    int ordinal = assembler.getFieldOrdinal(fieldName);
+    return ordinal < 0 ? null : cells[ordinal];
+  }
+
+  public ImmutableList<Menu> getMenus() {
+    return assembler.getMenus();
+  }
+
+  public int getRowIndex() {
+    return rowIndex;
+  }
+
+  @Override
+  public StandardCell get(Object key) {
+    int ordinal = assembler.getOrdinal(key);
+    return ordinal < 0 ? null : cells[ordinal];
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return Objects.nonNull(get(key));
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super Menu, ? super StandardCell> action) {
+    for (int i = 0; i < cells.length; i++) {
+      if (Objects.nonNull(cells[i])) {
+        action.accept(assembler.getMenus().get(i), cells[i]);
+      }
+    }
+  }
+
+  @Override
+  public Set<Entry<Menu, StandardCell>> entrySet() {
+    return new AbstractSet<Entry<Menu, StandardCell>>() {
+      @Override
+      public Iterator<Entry<Menu, StandardCell>> iterator() {
+        return new Iterator<Entry<Menu, StandardCell>>() {
+          private int next = advance(0);
+
+          private int advance(int from) {
+            int ordinal = from;
+            while (ordinal < cells.length && Objects.isNull(cells[ordinal])) {
+              ordinal++;
+            }
+            return ordinal;
+          }
+
+          @Override
+          public boolean hasNext() {
+            return next < cells.length;
+          }
+
+          @Override
+          public Entry<Menu, StandardCell> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            int ordinal = next;
+            next = advance(ordinal + 1);
+            return new SimpleImmutableEntry<>(assembler.getMenus().get(ordinal), cells[ordinal]);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+}
@@ -0,0 +1,44 @@
+package com.github.liudaomanbu.excel.parse.result;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+// 日期按距1970-01-01的天数存储,使用系统默认时区
+public class DateColumn extends Column {
+  private final int[] epochDays;
+
+  DateColumn(Menu menu, List<StandardCell> cells) {
+    super(menu, cells);
+    this.epochDays = new int[cells.size()];
+    ZoneId zone = ZoneId.systemDefault();
+    for (int i = 0; i < cells.size(); i++) {
+      if (isNull(i)) {
+        continue;
+      }
+      Object value = cells.get(i).getValue();
+      Date date = value instanceof Date ? (Date) value : cast(cells.get(i), Date.class);
+      if (Objects.isNull(date)) {
+        setNull(i);
+      } else {
+        epochDays[i] = Math.toIntExact(date.toInstant().atZone(zone).toLocalDate().toEpochDay());
+      }
+    }
+  }
+
+  // 空值为0,需要配合isNull判断
+  public int getEpochDay(int index) {
+    return epochDays[index];
+  }
+
+  public LocalDate get(int index) {
+    return isNull(index) ? null : LocalDate.ofEpochDay(epochDays[index]);
+  }
+
+  public int[] toEpochDayArray() {
+    return Arrays.copyOf(epochDays, epochDays.length);
+  }
+}
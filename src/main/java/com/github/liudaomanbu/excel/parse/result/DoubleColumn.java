@@ -0,0 +1,48 @@
+package com.github.liudaomanbu.excel.parse.result;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.apache.poi.ss.usermodel.CellType;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+public class DoubleColumn extends Column {
+  private final double[] values;
+
+  // 数字单元格直接读取double,不创建包装对象
+  DoubleColumn(Menu menu, List<StandardCell> cells) {
+    super(menu, cells);
+    this.values = new double[cells.size()];
+    for (int i = 0; i < cells.size(); i++) {
+      if (isNull(i)) {
+        continue;
+      }
+      StandardCell cell = cells.get(i);
+      if (CellType.NUMERIC.equals(getValueType(cell))) {
+        values[i] = cell.getValueCell().getNumericCellValue();
+        continue;
+      }
+      Double value = cast(cell, Double.class);
+      if (Objects.isNull(value)) {
+        setNull(i);
+      } else {
+        values[i] = value;
+      }
+    }
+  }
+
+  // 空值为0,需要配合isNull判断
+  public double get(int index) {
+    return values[index];
+  }
+
+  public double[] toArray() {
+    return Arrays.copyOf(values, values.length);
+  }
+
+  // 跳过空值
+  public DoubleStream stream() {
+    return IntStream.range(0, size()).filter(i -> !isNull(i)).mapToDouble(i -> values[i]);
+  }
+}
@@ -0,0 +1,52 @@
+package com.github.liudaomanbu.excel.parse.result;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.apache.poi.ss.usermodel.CellType;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+public class LongColumn extends Column {
+  private final long[] values;
+
+  // 整数值的数字单元格直接读取,其余单元格按菜单的DataType转换
+  LongColumn(Menu menu, List<StandardCell> cells) {
+    super(menu, cells);
+    this.values = new long[cells.size()];
+    for (int i = 0; i < cells.size(); i++) {
+      if (isNull(i)) {
+        continue;
+      }
+      StandardCell cell = cells.get(i);
+      if (CellType.NUMERIC.equals(getValueType(cell))) {
+        double number = cell.getValueCell().getNumericCellValue();
+        long whole = (long) number;
+        if (whole == number) {
+          values[i] = whole;
+          continue;
+        }
+      }
+      Long value = cast(cell, Long.class);
+      if (Objects.isNull(value)) {
+        setNull(i);
+      } else {
+        values[i] = value;
+      }
+    }
+  }
+
+  // 空值为0,需要配合isNull判断
+  public long get(int index) {
+    return values[index];
+  }
+
+  public long[] toArray() {
+    return Arrays.copyOf(values, values.length);
+  }
+
+  // 跳过空值
+  public LongStream stream() {
+    return IntStream.range(0, size()).filter(i -> !isNull(i)).mapToLong(i -> values[i]);
+  }
+}
@@ -1,19 +1,25 @@
 package com.github.liudaomanbu.excel.parse.result;
 
+import java.util.function.Supplier;
 import com.github.liudaomanbu.excel.config.MenuDataConfig;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 
 public class MenuData {
   private final Menu menu;
   private final MenuDataConfig config;
-  private final ImmutableList<StandardCell> valueCells;
+  // 首次访问时才读取,TableData逐行组装数据,不经过此处
+  private final Supplier<ImmutableList<StandardCell>> valueCells;
 
   public MenuData(Menu menu) {
     super();
     this.menu = menu;
     this.config = menu.getConfig().getDataConfig();
-    this.valueCells = menu.getChildrens().isEmpty() ? config.getLoadType().getDataCells(menu)
-        : ImmutableList.of();
+    // 不在投影范围内的数据菜单只保留表头,不读取数据
+    this.valueCells = menu.getChildrens().isEmpty()
+        && menu.getTable().getConfig().getDataConfig().isProjected(menu)
+            ? Suppliers.memoize(() -> config.getLoadType().getDataCells(menu))
+            : ImmutableList::of;
   }
 
 //  public ImmutableList getCellValues() {
@@ -31,7 +37,7 @@ public class MenuData {
   }
 
   public ImmutableList<StandardCell> getValueCells() {
-    return valueCells;
+    return valueCells.get();
   }
 
 }
@@ -0,0 +1,84 @@
+package com.github.liudaomanbu.excel.parse.result;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import com.github.liudaomanbu.excel.constant.LoadType;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+// 按数据菜单的序号逐行组装DataRow,列序号即数据菜单在表格中的序号
+// 各数据菜单从上一行的值单元格出发按LoadType读取下一个值单元格,遍历时只保留当前行
+class RowAssembler {
+  private final ImmutableList<Menu> menus;
+  private final ImmutableList<LoadType> loadTypes;
+  private final ImmutableMap<Menu, Integer> menuToOrdinals;
+  private final ImmutableMap<String, Integer> fieldNameToOrdinals;
+
+  RowAssembler(ImmutableList<Menu> menus) {
+    this.menus = menus;
+    this.loadTypes = menus.stream().map(menu -> menu.getData().getConfig().getLoadType())
+        .collect(ImmutableList.toImmutableList());
+    ImmutableMap.Builder<Menu, Integer> builder = ImmutableMap.builder();
+    for (int i = 0; i < menus.size(); i++) {
+      builder.put(menus.get(i), i);
+    }
+    this.menuToOrdinals = builder.build();
+    // 字段名重复时取第一个
+    Map<String, Integer> fieldNameToOrdinals = Maps.newHashMap();
+    for (int i = 0; i < menus.size(); i++) {
+      String fieldName = menus.get(i).getFieldName();
+      if (Objects.nonNull(fieldName)) {
+        fieldNameToOrdinals.putIfAbsent(fieldName, i);
+      }
+    }
+    this.fieldNameToOrdinals = ImmutableMap.copyOf(fieldNameToOrdinals);
+  }
+
+  // 每次调用都从各数据菜单的第一个值单元格重新读取,所有数据菜单都没有下一个值单元格时结束
+  // 值单元格较少的数据菜单在之后的行中为null,与按列读取后按下标对齐一致
+  Iterator<DataRow> iterator() {
+    return new AbstractIterator<DataRow>() {
+      private final StandardCell[] previous = new StandardCell[menus.size()];
+      private final boolean[] ended = new boolean[menus.size()];
+      private int rowIndex;
+
+      @Override
+      protected DataRow computeNext() {
+        StandardCell[] cells = new StandardCell[menus.size()];
+        boolean found = false;
+        for (int i = 0; i < cells.length; i++) {
+          if (ended[i]) {
+            continue;
+          }
+          Optional<StandardCell> next = loadTypes.get(i).nextDataCell(menus.get(i), previous[i]);
+          if (next.isPresent()) {
+            previous[i] = next.get();
+            cells[i] = next.get();
+            found = true;
+          } else {
+            ended[i] = true;
+          }
+        }
+        return found ? new DataRow(RowAssembler.this, rowIndex++, cells) : endOfData();
+      }
+    };
+  }
+
+  int getOrdinal(Object menu) {
+    Integer ordinal = menuToOrdinals.get(menu);
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  int getFieldOrdinal(String fieldName) {
+    Integer ordinal = fieldNameToOrdinals.get(fieldName);
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  ImmutableList<Menu> getMenus() {
+    return menus;
+  }
+}
@@ -64,12 +64,15 @@ public class SheetParseResult {
   private final WorkbookParseResult workbookParseResult;
   private final Sheet sheet;
   private final SheetConfig config;
+  // 本次解析中创建的StandardCell与合并单元格索引
+  private final StandardCellCache cellCache;
   private final ImmutableList<Table> tables;
 
   public SheetParseResult(Builder builder) {
     this.workbookParseResult = builder.workbookParseResult;
     this.sheet = builder.sheet;
     this.config = builder.config;
+    this.cellCache = new StandardCellCache(sheet);
     this.tables =
         builder.tableBuilders.stream().peek(tableBuilder -> tableBuilder.setSheetParseResult(this))
             .map(Table.Builder::build).collect(ImmutableList.toImmutableList());
@@ -83,6 +86,10 @@ public class SheetParseResult {
     return config;
   }
 
+  public StandardCellCache getCellCache() {
+    return cellCache;
+  }
+
   public ImmutableList<Table> getTables() {
     return tables;
   }
@@ -3,6 +3,7 @@ package com.github.liudaomanbu.excel.parse.result;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Objects;
 import org.apache.poi.ss.formula.FormulaParseException;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -16,43 +17,67 @@ import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.util.Removal;
 import com.github.liudaomanbu.excel.constant.Direction;
+import com.github.liudaomanbu.excel.matcher.data.type.NumberClassifier;
 import com.github.liudaomanbu.excel.util.ExcelUtil;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableSet;
 
 public class StandardCell extends CellRangeAddress implements Cell {
+  private static class NumberClassification {
+    private final Object value;
+    private final int mask;
+
+    private NumberClassification(Object value, int mask) {
+      this.value = value;
+      this.mask = mask;
+    }
+  }
+
   private static final int ONE = 1;
 
+  // 不在解析中创建的StandardCell各自使用新的StandardCellCache
   public static StandardCell valueOf(Sheet sheet, CellRangeAddress cellRangeAddress) {
     Preconditions.checkNotNull(sheet);
     Preconditions.checkNotNull(cellRangeAddress);
-    return new StandardCell(sheet, cellRangeAddress);
+    return new StandardCellCache(sheet).get(cellRangeAddress);
   }
 
   public static StandardCell valueOf(Cell cell) {
     Preconditions.checkNotNull(cell);
-    return ExcelUtil.getMergedRegion(cell)
-        .map(address -> new StandardCell(cell.getSheet(), address))
-        .orElse(new StandardCell(cell.getSheet(), new CellRangeAddress(cell.getRowIndex(),
-            cell.getRowIndex(), cell.getColumnIndex(), cell.getColumnIndex())));
+    return new StandardCellCache(cell.getSheet()).get(cell);
   }
 
-  private final Sheet sheet;
-  private final Cell valueCell;
-  private final ImmutableCollection<Cell> cells;
+  private final StandardCellCache cache;
+  // 值单元格不存在时每次访问重新获取,之后通过POI创建的单元格也能读取到
+  private volatile Cell valueCell;
+  private volatile Row valueRow;
+  // 成员单元格只在修改类型或样式时使用,首次访问时再计算
+  private volatile ImmutableCollection<Cell> cells;
+  // 数值分类结果,按值缓存,值单元格通过任何方式修改后重新分类
+  private volatile NumberClassification numberClassification;
 
-  private StandardCell(Sheet sheet, CellRangeAddress cellRangeAddress) {
+  StandardCell(StandardCellCache cache, CellRangeAddress cellRangeAddress) {
     super(cellRangeAddress.getFirstRow(), cellRangeAddress.getLastRow(),
         cellRangeAddress.getFirstColumn(), cellRangeAddress.getLastColumn());
 
-    this.sheet = sheet;
-    this.valueCell = ExcelUtil.getCellByIndex(sheet, getFirstRow(), getFirstColumn());
-    this.cells = ExcelUtil.getCells(sheet, this).collect(ImmutableSet.toImmutableSet());
+    this.cache = cache;
+    this.valueCell = ExcelUtil.getCellByIndex(getSheet(), getFirstRow(), getFirstColumn());
   }
 
   public Object getValue() {
-    return ExcelUtil.getValue(valueCell);
+    return ExcelUtil.getValue(getValueCell());
+  }
+
+  // 值满足的数字类BaseDataType掩码,见NumberClassifier,值不变时不再重复分类
+  public int getNumberTypeMask() {
+    Object value = getValue();
+    NumberClassification result = numberClassification;
+    if (Objects.isNull(result) || !Objects.equals(result.value, value)) {
+      result = new NumberClassification(value, NumberClassifier.classify(value));
+      numberClassification = result;
+    }
+    return result.mask;
   }
 
   public boolean isMergedRegion() {
@@ -85,166 +110,191 @@ public class StandardCell extends CellRangeAddress implements Cell {
 
   // delegate Cell methods start
   public int getColumnIndex() {
-    return valueCell.getColumnIndex();
+    return getValueCell().getColumnIndex();
   }
 
   public int getRowIndex() {
-    return valueCell.getRowIndex();
+    return getValueCell().getRowIndex();
   }
 
   public Row getRow() {
-    return valueCell.getRow();
+    return getValueCell().getRow();
   }
 
   @SuppressWarnings("deprecation")
   @Deprecated
   @Removal(version = "1.0")
   public void setCellType(int cellType) {
-    cells.forEach(cell -> cell.setCellType(cellType));
+    getCells().forEach(cell -> cell.setCellType(cellType));
   }
 
   public void setCellType(CellType cellType) {
-    cells.forEach(cell -> cell.setCellType(cellType));
+    getCells().forEach(cell -> cell.setCellType(cellType));
   }
 
   @Deprecated
   @Removal(version = "1.0")
   public int getCellType() {
-    return valueCell.getCellType();
+    return getValueCell().getCellType();
   }
 
   public CellType getCellTypeEnum() {
-    return valueCell.getCellTypeEnum();
+    return getValueCell().getCellTypeEnum();
   }
 
   @Deprecated
   @Removal(version = "1.0")
   public int getCachedFormulaResultType() {
-    return valueCell.getCachedFormulaResultType();
+    return getValueCell().getCachedFormulaResultType();
   }
 
   public CellType getCachedFormulaResultTypeEnum() {
-    return valueCell.getCachedFormulaResultTypeEnum();
+    return getValueCell().getCachedFormulaResultTypeEnum();
   }
 
   public void setCellValue(double value) {
-    valueCell.setCellValue(value);
+    getValueCell().setCellValue(value);
   }
 
   public void setCellValue(Date value) {
-    valueCell.setCellValue(value);
+    getValueCell().setCellValue(value);
   }
 
   public void setCellValue(Calendar value) {
-    valueCell.setCellValue(value);
+    getValueCell().setCellValue(value);
   }
 
   public void setCellValue(RichTextString value) {
-    valueCell.setCellValue(value);
+    getValueCell().setCellValue(value);
   }
 
   public void setCellValue(String value) {
-    valueCell.setCellValue(value);
+    getValueCell().setCellValue(value);
   }
 
   public void setCellFormula(String formula) throws FormulaParseException {
-    valueCell.setCellFormula(formula);
+    getValueCell().setCellFormula(formula);
   }
 
   public String getCellFormula() {
-    return valueCell.getCellFormula();
+    return getValueCell().getCellFormula();
   }
 
   public double getNumericCellValue() {
-    return valueCell.getNumericCellValue();
+    return getValueCell().getNumericCellValue();
   }
 
   public Date getDateCellValue() {
-    return valueCell.getDateCellValue();
+    return getValueCell().getDateCellValue();
   }
 
   public RichTextString getRichStringCellValue() {
-    return valueCell.getRichStringCellValue();
+    return getValueCell().getRichStringCellValue();
   }
 
   public String getStringCellValue() {
-    return valueCell.getStringCellValue();
+    return getValueCell().getStringCellValue();
   }
 
   public void setCellValue(boolean value) {
-    valueCell.setCellValue(value);
+    getValueCell().setCellValue(value);
   }
 
   public void setCellErrorValue(byte value) {
-    valueCell.setCellErrorValue(value);
+    getValueCell().setCellErrorValue(value);
   }
 
   public boolean getBooleanCellValue() {
-    return valueCell.getBooleanCellValue();
+    return getValueCell().getBooleanCellValue();
   }
 
   public byte getErrorCellValue() {
-    return valueCell.getErrorCellValue();
+    return getValueCell().getErrorCellValue();
   }
 
   public void setCellStyle(CellStyle style) {
-    cells.forEach(cell -> cell.setCellStyle(style));
+    getCells().forEach(cell -> cell.setCellStyle(style));
   }
 
   public CellStyle getCellStyle() {
-    return valueCell.getCellStyle();
+    return getValueCell().getCellStyle();
   }
 
   public void setAsActiveCell() {
-    valueCell.setAsActiveCell();
+    getValueCell().setAsActiveCell();
   }
 
   public CellAddress getAddress() {
-    return valueCell.getAddress();
+    return getValueCell().getAddress();
   }
 
   public void setCellComment(Comment comment) {
-    valueCell.setCellComment(comment);
+    getValueCell().setCellComment(comment);
   }
 
   public Comment getCellComment() {
-    return valueCell.getCellComment();
+    return getValueCell().getCellComment();
   }
 
   public void removeCellComment() {
-    valueCell.removeCellComment();
+    getValueCell().removeCellComment();
   }
 
   public Hyperlink getHyperlink() {
-    return valueCell.getHyperlink();
+    return getValueCell().getHyperlink();
   }
 
   public void setHyperlink(Hyperlink link) {
-    valueCell.setHyperlink(link);
+    getValueCell().setHyperlink(link);
   }
 
   public void removeHyperlink() {
-    valueCell.removeHyperlink();
+    getValueCell().removeHyperlink();
   }
 
   public CellRangeAddress getArrayFormulaRange() {
-    return valueCell.getArrayFormulaRange();
+    return getValueCell().getArrayFormulaRange();
   }
 
   public boolean isPartOfArrayFormulaGroup() {
-    return valueCell.isPartOfArrayFormulaGroup();
+    return getValueCell().isPartOfArrayFormulaGroup();
   }
   // delegate Cell methods end
 
   public Sheet getSheet() {
-    return sheet;
+    return cache.getSheet();
+  }
+
+  public StandardCellCache getCache() {
+    return cache;
   }
 
+  // 行存在时只从行中重新获取,不再查找行
   public Cell getValueCell() {
-    return valueCell;
+    Cell result = valueCell;
+    if (Objects.isNull(result)) {
+      Row row = valueRow;
+      if (Objects.isNull(row)) {
+        row = getSheet().getRow(getFirstRow());
+        valueRow = row;
+      }
+      result = Objects.isNull(row) ? null : row.getCell(getFirstColumn());
+      valueCell = result;
+    }
+    return result;
   }
 
   public ImmutableCollection<Cell> getCells() {
-    return cells;
+    ImmutableCollection<Cell> result = cells;
+    if (Objects.isNull(result)) {
+      synchronized (this) {
+        result = cells;
+        if (Objects.isNull(result)) {
+          result = ExcelUtil.getCells(getSheet(), this).collect(ImmutableSet.toImmutableSet());
+          cells = result;
+        }
+      }
+    }
+    return result;
   }
 }
@@ -0,0 +1,51 @@
+package com.github.liudaomanbu.excel.parse.result;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import com.github.liudaomanbu.excel.util.MergedRegionIndex;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.MapMaker;
+
+// 一次解析中sheet的StandardCell与合并单元格索引,由SheetParseResult持有,随解析结果一起释放
+// 按左上角坐标缓存StandardCell,使用期间同一逻辑单元格只创建一次,不再使用的可以被回收
+// 合并单元格在首次使用时建立索引,解析过程中的修改不会反映到索引
+public class StandardCellCache {
+  private static final int COLUMN_BITS = 32;
+
+  private final Sheet sheet;
+  private final Supplier<MergedRegionIndex> mergedRegionIndex;
+  private final ConcurrentMap<Long, StandardCell> cells;
+
+  public StandardCellCache(Sheet sheet) {
+    this.sheet = Preconditions.checkNotNull(sheet);
+    this.mergedRegionIndex = Suppliers.memoize(() -> MergedRegionIndex.of(sheet));
+    this.cells = new MapMaker().weakValues().makeMap();
+  }
+
+  public StandardCell get(Cell cell) {
+    Preconditions.checkNotNull(cell);
+    Preconditions.checkArgument(sheet.equals(cell.getSheet()));
+    CellRangeAddress address = getMergedRegion(cell.getRowIndex(), cell.getColumnIndex())
+        .orElseGet(() -> new CellRangeAddress(cell.getRowIndex(), cell.getRowIndex(),
+            cell.getColumnIndex(), cell.getColumnIndex()));
+    return get(address);
+  }
+
+  StandardCell get(CellRangeAddress address) {
+    long key = ((long) address.getFirstRow() << COLUMN_BITS) | address.getFirstColumn();
+    return cells.computeIfAbsent(key, k -> new StandardCell(this, address));
+  }
+
+  public Optional<CellRangeAddress> getMergedRegion(int rowIndex, int columnIndex) {
+    return mergedRegionIndex.get().get(rowIndex, columnIndex);
+  }
+
+  public Sheet getSheet() {
+    return sheet;
+  }
+}
@@ -0,0 +1,56 @@
+package com.github.liudaomanbu.excel.parse.result;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+// 字典编码的字符串列,相同的值只保存一份,空值编码为-1
+public class StringColumn extends Column {
+  public static final int NULL_CODE = -1;
+
+  private final int[] codes;
+  private final ImmutableList<String> dictionary;
+
+  StringColumn(Menu menu, List<StandardCell> cells) {
+    super(menu, cells);
+    this.codes = new int[cells.size()];
+    Map<String, Integer> valueToCodes = Maps.newHashMap();
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    for (int i = 0; i < cells.size(); i++) {
+      String string = isNull(i) ? null : cast(cells.get(i), String.class);
+      if (Objects.isNull(string)) {
+        setNull(i);
+        codes[i] = NULL_CODE;
+        continue;
+      }
+      Integer code = valueToCodes.get(string);
+      if (Objects.isNull(code)) {
+        code = valueToCodes.size();
+        valueToCodes.put(string, code);
+        builder.add(string);
+      }
+      codes[i] = code;
+    }
+    this.dictionary = builder.build();
+  }
+
+  public int getCode(int index) {
+    return codes[index];
+  }
+
+  public String get(int index) {
+    int code = codes[index];
+    return code == NULL_CODE ? null : dictionary.get(code);
+  }
+
+  public int[] toCodeArray() {
+    return Arrays.copyOf(codes, codes.length);
+  }
+
+  public ImmutableList<String> getDictionary() {
+    return dictionary;
+  }
+}
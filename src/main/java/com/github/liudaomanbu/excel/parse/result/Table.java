@@ -1,15 +1,21 @@
 package com.github.liudaomanbu.excel.parse.result;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import com.github.liudaomanbu.excel.config.MenuConfig;
 import com.github.liudaomanbu.excel.config.TableConfig;
+import com.github.liudaomanbu.excel.constant.MenuSearchType;
 import com.github.liudaomanbu.excel.constant.Necessity;
+import com.github.liudaomanbu.excel.matcher.MatcherIndex;
 import com.github.liudaomanbu.excel.parse.error.TableValidationError;
 import com.github.liudaomanbu.excel.parse.error.ValidationError;
 import com.github.liudaomanbu.excel.util.ExcelUtil;
@@ -19,6 +25,7 @@ import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.google.common.collect.Streams;
 import com.google.common.graph.SuccessorsFunction;
 import com.google.common.graph.Traverser;
@@ -74,20 +81,53 @@ public class Table {
   public Table(Builder builder) {
     config = builder.config;
     sheetParseResult = builder.sheetParseResult;
-    topMenus = loadTopMenus().map(Menu.Builder::build).collect(ImmutableSet.toImmutableSet());
+    topMenus = loadTopMenus().stream().map(Menu.Builder::build)
+        .collect(ImmutableSet.toImmutableSet());
     errors = createMenuConfigValidator().validate(this).stream()
         .collect(ImmutableList.toImmutableList());
     this.data = new TableData(this);
+    data.handleRows();
   }
 
-  private Stream<Menu.Builder> loadTopMenus() {
-    ImmutableCollection<MenuConfig> menuConfigs = config.getTopMenuConfigs();
+  private ImmutableList<Menu.Builder> loadTopMenus() {
+    MatcherIndex<StandardCell, MenuConfig> menuConfigIndex = config.getTopMenuConfigIndex();
+    MenuSearchType searchType = config.getMenuSearchType();
     Sheet sheet = sheetParseResult.getSheet();
-    return ExcelUtil.getCells(sheet).map(StandardCell::valueOf).map(cell -> {
-      Optional<MenuConfig> optional =
-          menuConfigs.stream().filter(menuConfig -> menuConfig.getMatcher().test(cell)).findAny();
-      return optional.map(t -> Menu.builder().setCell(cell).setConfig(t).setTable(this));
-    }).filter(Optional::isPresent).map(Optional::get);
+    Integer lastRowIndex = Optional.ofNullable(config.getMenuSearchRowLimit())
+        .map(limit -> Math.min(sheet.getFirstRowNum() + limit, sheet.getLastRowNum()))
+        .orElse(null);
+    Integer lastColumnIndex = config.getMenuSearchColumnLimit();
+
+    Set<StandardCell> searchedCells = Sets.newHashSet();
+    Set<MenuConfig> foundMenuConfigs = Sets.newHashSet();
+    ImmutableList.Builder<Menu.Builder> builders = ImmutableList.builder();
+    for (Row row : (Iterable<Row>) ExcelUtil.getRows(sheet, null, lastRowIndex)::iterator) {
+      Integer lastCellIndex = Objects.isNull(row) || Objects.isNull(lastColumnIndex) ? null
+          : Math.min(row.getLastCellNum(), lastColumnIndex);
+      for (Cell cell : (Iterable<Cell>) ExcelUtil.getCells(row, null, lastCellIndex)::iterator) {
+        if (Objects.isNull(cell)) {
+          continue;
+        }
+        StandardCell standardCell = sheetParseResult.getCellCache().get(cell);
+        if (!searchedCells.add(standardCell)) {
+          continue;
+        }
+        Optional<MenuConfig> menuConfig = menuConfigIndex.findAll(standardCell)
+            .filter(t -> searchType.isSearchable(foundMenuConfigs, t)).findFirst();
+        if (menuConfig.isPresent()) {
+          foundMenuConfigs.add(menuConfig.get());
+          builders.add(Menu.builder().setCell(standardCell).setConfig(menuConfig.get())
+              .setTable(this));
+          if (searchType.isCompleted(config.getTopMenuConfigs(), foundMenuConfigs, false)) {
+            return builders.build();
+          }
+        }
+      }
+      if (searchType.isCompleted(config.getTopMenuConfigs(), foundMenuConfigs, true)) {
+        break;
+      }
+    }
+    return builders.build();
   }
 
   private Validator<Table> createMenuConfigValidator() {
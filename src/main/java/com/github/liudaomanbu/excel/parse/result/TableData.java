@@ -2,74 +2,264 @@ package com.github.liudaomanbu.excel.parse.result;
 
 import java.lang.reflect.Field;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.github.liudaomanbu.excel.config.TableDataConfig;
+import com.github.liudaomanbu.excel.handler.RowHandler;
 import com.github.liudaomanbu.excel.parse.error.ValidationError;
+import com.github.liudaomanbu.excel.util.BeanBinder;
 import com.github.liudaomanbu.excel.util.ClassUtil;
 import com.github.liudaomanbu.excel.util.ExcelUtil;
+import com.github.liudaomanbu.excel.validator.Validator;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Streams;
 import com.google.common.reflect.TypeToken;
 
 public class TableData {
+  // 从行迭代器中逐行读取,每次读取时才组装该行的值单元格,不可拆分
+  private static class RowSpliterator implements Spliterator<Map<Menu, StandardCell>> {
+    private final Iterator<DataRow> rows;
+    private final Predicate<DataRow> filter;
+
+    private RowSpliterator(Iterator<DataRow> rows, Predicate<DataRow> filter) {
+      this.rows = rows;
+      this.filter = filter;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Map<Menu, StandardCell>> action) {
+      while (rows.hasNext()) {
+        DataRow row = rows.next();
+        if (filter.test(row)) {
+          action.accept(row);
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Spliterator<Map<Menu, StandardCell>> trySplit() {
+      return null;
+    }
+
+    @Override
+    public long estimateSize() {
+      return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | NONNULL | IMMUTABLE;
+    }
+  }
+
+  // 从共用的迭代器中顺序读取至多threshold个元素,读取完先fork下一段再处理本段
+  // 读取在各段之间依次进行,行迭代器时每段自己组装本段的值单元格,处理与后续段的读取并行
+  private static class ChunkTask<T, R> extends RecursiveTask<ImmutableList<R>> {
+    private static final long serialVersionUID = 1L;
+    private final Iterator<T> source;
+    private final Function<T, Stream<R>> function;
+    private final int threshold;
+    // compute读取完本段后设置,join之后可见
+    private ChunkTask<T, R> next;
+
+    private ChunkTask(Iterator<T> source, Function<T, Stream<R>> function, int threshold) {
+      this.source = source;
+      this.function = function;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected ImmutableList<R> compute() {
+      List<T> chunk = Lists.newArrayListWithCapacity(threshold);
+      while (chunk.size() < threshold && source.hasNext()) {
+        chunk.add(source.next());
+      }
+      if (source.hasNext()) {
+        next = new ChunkTask<>(source, function, threshold);
+        next.fork();
+      }
+      ImmutableList.Builder<R> builder = ImmutableList.builder();
+      chunk.forEach(element -> function.apply(element).forEach(builder::add));
+      return builder.build();
+    }
+  }
+
+
   private final Table table;
   private final TableDataConfig config;
+  // 数据菜单按序号排列,行数据逐行组装
+  private final RowAssembler assembler;
+  // 跳过空行与不满足rowMatcher的行
+  private final Predicate<DataRow> rowFilter;
+  // 流式模式下为null,每次访问时重新逐行组装,不保存值单元格
   private final ImmutableList<Map<Menu, StandardCell>> menuToValueCells;
-  private final ImmutableList<ValidationError<TableData>> errors;
+  // 配置了RowHandler时为交给handler的错误,由handleRows设置
+  private volatile ImmutableList<ValidationError<TableData>> errors;
 
   public TableData(Table table) {
     this.table = table;
     this.config = table.getConfig().getDataConfig();
-    List<Map<Menu, StandardCell>> menuTodatas = Lists.newArrayList();
-    ImmutableList<Menu> menus = table.getDataMenus().collect(ImmutableList.toImmutableList());
-    menus.forEach(menu -> {
-      ImmutableList<StandardCell> valueCells = menu.getData().getValueCells();
-      for (int j = 0; j < valueCells.size(); j++) {
-        StandardCell valueCell = valueCells.get(j);
-
-        Map<Menu, StandardCell> map = null;
-        if (j < menuTodatas.size()) {
-          map = menuTodatas.get(j);
-        } else {
-          map = Maps.newHashMap();
-          menuTodatas.add(map);
-        }
-        map.put(menu, valueCell);
-      }
-    });
+    this.assembler = new RowAssembler(table.getDataMenus().filter(config::isProjected)
+        .collect(ImmutableList.toImmutableList()));
+    Predicate<Map<Menu, StandardCell>> rowMatcher = config.getRowMatcher();
+    this.rowFilter = Objects.isNull(rowMatcher) ? DataRow::hasValue
+        : row -> row.hasValue() && rowMatcher.test(row);
 
-    menuToValueCells = menuTodatas
-        .stream().filter(map -> map.values().stream().map(StandardCell::getValue)
-            .filter(Objects::nonNull).findAny().isPresent())
-        .collect(ImmutableList.toImmutableList());
+    boolean handled = Objects.nonNull(table.getConfig().getRowHandler());
+    boolean streaming = handled || config.isStreaming();
+    this.menuToValueCells = streaming ? null
+        : collect(assembler.iterator(),
+            row -> rowFilter.test(row) ? Stream.of(row) : Stream.empty());
+    this.errors = streaming ? null : validate();
+  }
 
-    Stream<ValidationError<TableData>> menuMatcherErrors =
-        menuToValueCells.stream().map(Map::entrySet).flatMap(Collection::stream)
-            .flatMap(entry -> entry.getKey().getData().getConfig().getValidators().stream()
-                .map(validator -> validator.validate(entry.getValue())).flatMap(Collection::stream)
-                .map(error -> entry.getKey().getFullName() + error.getMessage()))
-            .map(message -> new ValidationError<>(this, message));
+  // 配置了ForkJoinPool时分段并行处理,否则顺序处理,结果均按source的顺序排列
+  private <T, R> ImmutableList<R> collect(Iterator<T> source, Function<T, Stream<R>> function) {
+    ForkJoinPool pool = config.getForkJoinPool();
+    if (Objects.isNull(pool)) {
+      return Streams.stream(source).flatMap(function).collect(ImmutableList.toImmutableList());
+    }
+    ChunkTask<T, R> first = new ChunkTask<>(source, function, config.getParallelThreshold());
+    pool.execute(first);
+    // 逐段join,不递归等待,段数不受栈深度限制
+    ImmutableList.Builder<R> builder = ImmutableList.builder();
+    for (ChunkTask<T, R> task = first; Objects.nonNull(task); task = task.next) {
+      builder.addAll(task.join());
+    }
+    return builder.build();
+  }
 
+  private ImmutableList<ValidationError<TableData>> validate() {
+    if (Objects.nonNull(menuToValueCells)) {
+      ImmutableList<ValidationError<TableData>> menuMatcherErrors =
+          collect(menuToValueCells.iterator(), this::validateMenus);
+      ImmutableList<ValidationError<TableData>> tableDataMatcherErrors = config.getValidators()
+          .stream()
+          .map(validator -> collect(menuToValueCells.iterator(),
+              row -> validator.validate(row).stream()
+                  .map(error -> new ValidationError<>(this, error.getMessage()))))
+          .flatMap(Collection::stream).collect(ImmutableList.toImmutableList());
+      return ImmutableList.<ValidationError<TableData>>builder().addAll(menuMatcherErrors)
+          .addAll(tableDataMatcherErrors).build();
+    }
 
-    Stream<ValidationError<TableData>> tableDataMatcherErrors = Optional.ofNullable(config)
-        .map(TableDataConfig::getValidators).orElse(ImmutableList.of()).stream()
-        .flatMap(validator -> menuToValueCells.stream().map(map -> validator.validate(map))
+    Stream<ValidationError<TableData>> menuMatcherErrors =
+        streamMenuToValueCells().flatMap(this::validateMenus);
+
+    Stream<ValidationError<TableData>> tableDataMatcherErrors = config.getValidators().stream()
+        .flatMap(validator -> streamMenuToValueCells().map(map -> validator.validate(map))
             .flatMap(Collection::stream))
         .map(error -> new ValidationError<>(this, error.getMessage()));
 
-    this.errors = Stream.concat(menuMatcherErrors, tableDataMatcherErrors)
+    return Stream.concat(menuMatcherErrors, tableDataMatcherErrors)
         .collect(ImmutableList.toImmutableList());
   }
 
+  private Stream<ValidationError<TableData>> validateMenus(Map<Menu, StandardCell> row) {
+    if (row instanceof DataRow) {
+      DataRow dataRow = (DataRow) row;
+      ImmutableList.Builder<ValidationError<TableData>> builder = ImmutableList.builder();
+      for (int i = 0; i < dataRow.getMenus().size(); i++) {
+        StandardCell cell = dataRow.getCell(i);
+        if (Objects.isNull(cell)) {
+          continue;
+        }
+        Menu menu = dataRow.getMenus().get(i);
+        for (Validator<StandardCell> validator : menu.getData().getConfig().getValidators()) {
+          for (ValidationError<StandardCell> error : validator.validate(cell)) {
+            builder.add(new ValidationError<>(this, menu.getFullName() + error.getMessage()));
+          }
+        }
+      }
+      return builder.build().stream();
+    }
+    return row.entrySet().stream()
+        .flatMap(entry -> entry.getKey().getData().getConfig().getValidators().stream()
+            .map(validator -> validator.validate(entry.getValue())).flatMap(Collection::stream)
+            .map(error -> entry.getKey().getFullName() + error.getMessage()))
+        .map(message -> new ValidationError<>(this, message));
+  }
+
+  private Stream<ValidationError<TableData>> validateRow(Map<Menu, StandardCell> row) {
+    return Stream.concat(validateMenus(row),
+        config.getValidators().stream().map(validator -> validator.validate(row))
+            .flatMap(Collection::stream)
+            .map(error -> new ValidationError<>(this, error.getMessage())));
+  }
+
+  // 逐行校验并转换后交给RowHandler,由Table在构建完成后调用
+  // 菜单校验失败时只报告菜单错误,不交付任何行;有校验错误或转换失败的行只报告错误
+  // 报告给handler的数据错误同时保存,getErrors返回这些错误,只与出错的行数相关
+  @SuppressWarnings("unchecked")
+  <T> void handleRows() {
+    RowHandler<T> handler = (RowHandler<T>) table.getConfig().getRowHandler();
+    if (Objects.isNull(handler)) {
+      return;
+    }
+    ImmutableList<String> menuErrors = Stream.concat(
+        table.getErrors().stream().map(ValidationError::getMessage),
+        table.getTopMenus().stream().map(Menu::getAllErrors).flatMap(Collection::stream)
+            .map(ValidationError::getMessage))
+        .collect(ImmutableList.toImmutableList());
+    if (!menuErrors.isEmpty()) {
+      menuErrors.forEach(message -> handler.onError(table, new ValidationError<>(this, message)));
+      // 菜单错误已包含在Table的错误中,数据行未处理
+      errors = ImmutableList.of();
+      handler.onTableEnd(table);
+      return;
+    }
+    ImmutableList.Builder<ValidationError<TableData>> handledErrors = ImmutableList.builder();
+    Function<Map<Menu, StandardCell>, T> binder =
+        BeanBinder.of((Class<T>) table.getConfig().getRowType()).forMenus(assembler.getMenus());
+    streamMenuToValueCells().forEach(row -> {
+      ImmutableList<ValidationError<TableData>> rowErrors =
+          validateRow(row).collect(ImmutableList.toImmutableList());
+      if (!rowErrors.isEmpty()) {
+        rowErrors.forEach(error -> handler.onError(table, error));
+        handledErrors.addAll(rowErrors);
+        return;
+      }
+      T bean;
+      try {
+        bean = binder.apply(row);
+      } catch (RuntimeException e) {
+        ValidationError<TableData> error =
+            new ValidationError<>(this, getRowName(row) + "转换失败," + e);
+        handler.onError(table, error);
+        handledErrors.add(error);
+        return;
+      }
+      handler.onRow(table, bean);
+    });
+    errors = handledErrors.build();
+    handler.onTableEnd(table);
+  }
+
+  private static String getRowName(Map<Menu, StandardCell> row) {
+    return row.values().stream().filter(Objects::nonNull).findFirst()
+        .map(cell -> "第" + (cell.getFirstRow() + 1) + "行").orElse("");
+  }
+
   public Table getTable() {
     return table;
   }
@@ -78,22 +268,102 @@ public class TableData {
     return config;
   }
 
+  // 参与行数据的数据菜单,按序号排列
+  public ImmutableList<Menu> getMenus() {
+    return assembler.getMenus();
+  }
+
+  public Stream<Map<Menu, StandardCell>> streamMenuToValueCells() {
+    if (Objects.nonNull(menuToValueCells)) {
+      return menuToValueCells.stream();
+    }
+    return StreamSupport.stream(new RowSpliterator(assembler.iterator(), rowFilter), false);
+  }
+
   public ImmutableList<Map<Menu, StandardCell>> getMenuToValueCells() {
-    return menuToValueCells;
+    return Optional.ofNullable(menuToValueCells)
+        .orElseGet(() -> streamMenuToValueCells().collect(ImmutableList.toImmutableList()));
   }
 
   public ImmutableList<ValidationError<TableData>> getErrors() {
-    return errors;
+    return Optional.ofNullable(errors).orElseGet(this::validate);
+  }
+
+  public Optional<Menu> getDataMenu(String fieldName) {
+    return assembler.getMenus().stream()
+        .filter(menu -> Objects.equals(fieldName, menu.getFieldName())).findFirst();
+  }
+
+  // 整列读取值单元格,行顺序与getMenuToValueCells一致,值由各Column按类型读取
+  private List<StandardCell> getColumnCells(Menu menu) {
+    int ordinal = assembler.getOrdinal(menu);
+    Preconditions.checkArgument(ordinal >= 0, "%s is not a data menu of this table", menu);
+    List<StandardCell> cells = Lists.newArrayList();
+    streamMenuToValueCells().forEach(row -> cells.add(((DataRow) row).getCell(ordinal)));
+    return cells;
+  }
+
+  private Menu getDataMenuOrThrow(String fieldName) {
+    return getDataMenu(fieldName).orElseThrow(
+        () -> new IllegalArgumentException("no data menu for field " + fieldName));
+  }
+
+  public DoubleColumn getDoubleColumn(Menu menu) {
+    return new DoubleColumn(menu, getColumnCells(menu));
+  }
+
+  public DoubleColumn getDoubleColumn(String fieldName) {
+    return getDoubleColumn(getDataMenuOrThrow(fieldName));
   }
 
+  public LongColumn getLongColumn(Menu menu) {
+    return new LongColumn(menu, getColumnCells(menu));
+  }
+
+  public LongColumn getLongColumn(String fieldName) {
+    return getLongColumn(getDataMenuOrThrow(fieldName));
+  }
+
+  public DateColumn getDateColumn(Menu menu) {
+    return new DateColumn(menu, getColumnCells(menu));
+  }
+
+  public DateColumn getDateColumn(String fieldName) {
+    return getDateColumn(getDataMenuOrThrow(fieldName));
+  }
+
+  public StringColumn getStringColumn(Menu menu) {
+    return new StringColumn(menu, getColumnCells(menu));
+  }
+
+  public StringColumn getStringColumn(String fieldName) {
+    return getStringColumn(getDataMenuOrThrow(fieldName));
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> Stream<T> stream(TypeToken<T> type) {
+    Function<Map<Menu, StandardCell>, T> binder =
+        BeanBinder.of((Class<T>) type.getRawType()).forMenus(assembler.getMenus());
+    return streamMenuToValueCells().map(binder);
+  }
+
+  public <T> Iterator<T> iterator(TypeToken<T> type) {
+    return stream(type).iterator();
+  }
+
+  @SuppressWarnings("unchecked")
   public <T> ImmutableList<T> getDatas(TypeToken<T> type) {
-    return menuToValueCells.stream().map(map -> (T) ExcelUtil.toJavaObject(map, type.getRawType()))
-        .collect(ImmutableList.toImmutableList());
+    if (Objects.isNull(menuToValueCells)) {
+      return stream(type).collect(ImmutableList.toImmutableList());
+    }
+    Function<Map<Menu, StandardCell>, T> binder =
+        BeanBinder.of((Class<T>) type.getRawType()).forMenus(assembler.getMenus());
+    return collect(menuToValueCells.iterator(), row -> Stream.of(binder.apply(row)));
   }
 
   public JSONArray getJsonDatas() {
     JSONArray array = new JSONArray();
-    menuToValueCells.forEach(map -> array.add(ExcelUtil.toJsonObject(map)));
+    streamMenuToValueCells().forEach(map -> array.add(ExcelUtil.toJsonObject(map)));
     return array;
   }
 }
@@ -1,17 +1,23 @@
 package com.github.liudaomanbu.excel.parse.result;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.apache.poi.ss.usermodel.Workbook;
 import com.github.liudaomanbu.excel.config.WorkbookConfig;
 import com.github.liudaomanbu.excel.constant.Necessity;
+import com.github.liudaomanbu.excel.parse.detached.DetachedWorkbook;
 import com.github.liudaomanbu.excel.parse.error.ValidationError;
 import com.github.liudaomanbu.excel.util.ExcelUtil;
 import com.github.liudaomanbu.excel.validator.BaseValidator;
 import com.github.liudaomanbu.excel.validator.Validator;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -56,14 +62,34 @@ public class WorkbookParseResult {
   private WorkbookParseResult(Builder builder) {
     workbook = builder.workbook;
     config = builder.config;
-    sheetParseResults = createSheetParseResultBuilders().stream()
+    sheetParseResults = buildSheetParseResults(createSheetParseResultBuilders().stream()
         .peek(sheetParseResultBuilder -> sheetParseResultBuilder.setWorkbookParseResult(this))
-        .map(SheetParseResult.Builder::build).collect(ImmutableList.toImmutableList());
+        .collect(ImmutableList.toImmutableList()));
     errors = Stream.concat(config.getValidators().stream(), Stream.of(createSheetConfigValidator()))
         .map(validator -> validator.validate(workbook)).flatMap(Collection::stream)
         .collect(ImmutableList.toImmutableList());
   }
 
+  // 配置了executor时并发解析,结果顺序与sheetConfig顺序一致
+  private ImmutableList<SheetParseResult> buildSheetParseResults(
+      ImmutableList<SheetParseResult.Builder> builders) {
+    Executor executor = config.getExecutor();
+    if (Objects.isNull(executor) || builders.size() <= 1) {
+      return builders.stream().map(SheetParseResult.Builder::build)
+          .collect(ImmutableList.toImmutableList());
+    }
+    ImmutableList<CompletableFuture<SheetParseResult>> futures = builders.stream()
+        .map(builder -> CompletableFuture.supplyAsync(builder::build, executor))
+        .collect(ImmutableList.toImmutableList());
+    try {
+      return futures.stream().map(CompletableFuture::join)
+          .collect(ImmutableList.toImmutableList());
+    } catch (CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
   private ImmutableList<SheetParseResult.Builder> createSheetParseResultBuilders() {
     return config.getSheetConfigs().stream()
         .map(sheetConfig -> ExcelUtil.getSheets(workbook).filter(sheetConfig.getMatcher()::test)
@@ -96,6 +122,11 @@ public class WorkbookParseResult {
     return workbook;
   }
 
+  // 复制解析结果中需要的值,之后可以关闭workbook
+  public DetachedWorkbook detach() {
+    return new DetachedWorkbook(this);
+  }
+
   public WorkbookConfig getConfig() {
     return config;
   }
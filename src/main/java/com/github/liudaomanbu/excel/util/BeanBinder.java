@@ -0,0 +1,263 @@
+package com.github.liudaomanbu.excel.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.TypeUtils;
+import com.github.liudaomanbu.excel.config.TableBinder;
+import com.github.liudaomanbu.excel.parse.result.DataRow;
+import com.github.liudaomanbu.excel.parse.result.Menu;
+import com.github.liudaomanbu.excel.parse.result.StandardCell;
+import com.google.common.base.Ascii;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Primitives;
+
+// 将菜单对应的值直接写入对象,属性访问器按类缓存,不再经过JSONObject中转
+// 无法直接绑定的类型或属性仍使用fastjson,与原有行为保持一致
+public class BeanBinder<T> {
+  private static class PropertyWriter {
+    private final String name;
+    private final Class<?> type;
+    private final Type genericType;
+    private final boolean primitive;
+    private final MethodHandle handle;
+
+    private PropertyWriter(String name, Class<?> type, Type genericType, MethodHandle handle) {
+      this.name = name;
+      this.type = Primitives.wrap(type);
+      this.genericType = genericType;
+      this.primitive = type.isPrimitive();
+      this.handle = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+    }
+
+    private void write(Object bean, Object value) {
+      if (Objects.nonNull(value) && !type.isInstance(value)) {
+        value = TypeUtils.cast(value, genericType, ParserConfig.getGlobalInstance());
+      }
+      if (Objects.isNull(value) && primitive) {
+        return;
+      }
+      try {
+        handle.invokeExact(bean, value);
+      } catch (Throwable e) {
+        throw new JSONException("set property error, " + name, e);
+      }
+    }
+  }
+
+  private static final CharMatcher NAME_SEPARATOR = CharMatcher.anyOf("_-");
+  private static final ClassValue<BeanBinder<?>> CACHE = new ClassValue<BeanBinder<?>>() {
+    @Override
+    protected BeanBinder<?> computeValue(Class<?> type) {
+      return new BeanBinder<>(type);
+    }
+  };
+
+  @SuppressWarnings("unchecked")
+  public static <T> BeanBinder<T> of(Class<T> type) {
+    Preconditions.checkNotNull(type);
+    return (BeanBinder<T>) CACHE.get(type);
+  }
+
+  private static String normalize(String name) {
+    return Ascii.toLowerCase(NAME_SEPARATOR.removeFrom(name));
+  }
+
+  private static Object getValue(Menu menu, StandardCell cell) {
+    Field field = menu.getField();
+    if (Objects.isNull(field)) {
+      return cell.getValue();
+    }
+    return menu.getData().getConfig().getDataType().cast(cell, field.getType());
+  }
+
+  private final Class<T> type;
+  // 不支持直接创建时为null
+  private final MethodHandle constructor;
+  private final ImmutableMap<String, PropertyWriter> nameToWriters;
+  private final ImmutableMap<String, PropertyWriter> normalizedNameToWriters;
+  // 编译期生成的绑定代码,不能绑定时为null
+  private final TableBinder<T> factory;
+
+  @SuppressWarnings("unchecked")
+  private BeanBinder(Class<T> type) {
+    this.type = type;
+    this.factory = Optional.ofNullable(ClassMetadata.of(type).getTableConfigFactory())
+        .filter(TableBinder.class::isInstance).map(t -> (TableBinder<T>) t).orElse(null);
+    this.constructor = findConstructor(type);
+    Map<String, PropertyWriter> writers = Maps.newLinkedHashMap();
+    if (Objects.nonNull(constructor)) {
+      // setter优先于public字段
+      for (Field field : type.getFields()) {
+        int modifiers = field.getModifiers();
+        if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)) {
+          unreflectSetter(field).ifPresent(writer -> writers.put(writer.name, writer));
+        }
+      }
+      for (Method method : type.getMethods()) {
+        unreflectSetter(method).ifPresent(writer -> writers.put(writer.name, writer));
+      }
+    }
+    this.nameToWriters = ImmutableMap.copyOf(writers);
+    Map<String, PropertyWriter> normalizedWriters = Maps.newHashMap();
+    writers.forEach((name, writer) -> normalizedWriters.putIfAbsent(normalize(name), writer));
+    this.normalizedNameToWriters = ImmutableMap.copyOf(normalizedWriters);
+  }
+
+  private static MethodHandle findConstructor(Class<?> type) {
+    if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.isPrimitive()
+        || type.isArray() || type.isEnum() || Map.class.isAssignableFrom(type)
+        || Collection.class.isAssignableFrom(type)
+        || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))) {
+      return null;
+    }
+    try {
+      // 与fastjson一致,允许使用非public的无参构造器
+      Constructor<?> constructor = type.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      return ClassUtil.unreflectConstructor(constructor).orElse(null);
+    } catch (NoSuchMethodException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static Optional<PropertyWriter> unreflectSetter(Field field) {
+    try {
+      field.setAccessible(true);
+      return Optional.of(new PropertyWriter(field.getName(), field.getType(),
+          field.getGenericType(), MethodHandles.lookup().unreflectSetter(field)));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+
+  // 与fastjson一致,setXxx对应属性xxx,允许返回自身的链式setter
+  private static Optional<PropertyWriter> unreflectSetter(Method method) {
+    String methodName = method.getName();
+    if (Modifier.isStatic(method.getModifiers()) || methodName.length() < 4
+        || !methodName.startsWith("set") || method.getParameterCount() != 1
+        || !(void.class.equals(method.getReturnType())
+            || method.getReturnType().equals(method.getDeclaringClass()))) {
+      return Optional.empty();
+    }
+    String name = Character.toLowerCase(methodName.charAt(3)) + methodName.substring(4);
+    try {
+      method.setAccessible(true);
+      return Optional.of(new PropertyWriter(name, method.getParameterTypes()[0],
+          method.getGenericParameterTypes()[0], MethodHandles.lookup().unreflect(method)));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+
+  private Optional<PropertyWriter> findWriter(Menu menu) {
+    return findWriter(menu.getFieldName());
+  }
+
+  private Optional<PropertyWriter> findWriter(String fieldName) {
+    if (Objects.isNull(fieldName) || Objects.isNull(constructor)) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(
+        Optional.ofNullable(nameToWriters.get(fieldName))
+            .orElseGet(() -> normalizedNameToWriters.get(normalize(fieldName))));
+  }
+
+  public T bind(Map<Menu, StandardCell> menuToValueCell) {
+    if (Objects.nonNull(factory)) {
+      return factory.bind(menuToValueCell);
+    }
+    return bind(menuToValueCell, this::findWriter);
+  }
+
+  // 预先计算菜单到属性访问器的映射,适用于同一表格的多行数据
+  public Function<Map<Menu, StandardCell>, T> forMenus(Collection<Menu> menus) {
+    if (Objects.nonNull(factory)) {
+      return factory::bind;
+    }
+    Map<Menu, Optional<PropertyWriter>> menuToWriters = Maps.newIdentityHashMap();
+    menus.forEach(menu -> menuToWriters.put(menu, findWriter(menu)));
+    // 行数据按菜单序号存储且每个菜单都有对应属性时,直接按序号写入
+    ImmutableList<PropertyWriter> writers = Objects.nonNull(constructor)
+        && menuToWriters.values().stream().allMatch(Optional::isPresent)
+            ? menus.stream().map(menuToWriters::get).map(Optional::get)
+                .collect(ImmutableList.toImmutableList())
+            : null;
+    return menuToValueCell -> {
+      if (Objects.nonNull(writers) && menuToValueCell instanceof DataRow
+          && ((DataRow) menuToValueCell).getMenus().equals(menus)) {
+        return bind((DataRow) menuToValueCell, writers);
+      }
+      return bind(menuToValueCell, menu -> {
+        Optional<PropertyWriter> writer = menuToWriters.get(menu);
+        return Objects.nonNull(writer) ? writer : findWriter(menu);
+      });
+    };
+  }
+
+  // 按属性名绑定已转换为字段类型的值,供不再持有单元格的DetachedTable使用
+  public T bindValues(Map<String, ?> fieldNameToValues) {
+    Map<String, PropertyWriter> writers = Maps.newHashMap();
+    fieldNameToValues.keySet()
+        .forEach(fieldName -> findWriter(fieldName).ifPresent(w -> writers.put(fieldName, w)));
+    if (writers.size() < fieldNameToValues.size()) {
+      return new JSONObject(Maps.newLinkedHashMap(fieldNameToValues)).toJavaObject(type);
+    }
+    T bean = newInstance();
+    fieldNameToValues.forEach((fieldName, value) -> writers.get(fieldName).write(bean, value));
+    return bean;
+  }
+
+  private T bind(DataRow row, ImmutableList<PropertyWriter> writers) {
+    T bean = newInstance();
+    for (int i = 0; i < writers.size(); i++) {
+      StandardCell cell = row.getCell(i);
+      if (Objects.nonNull(cell)) {
+        writers.get(i).write(bean, getValue(row.getMenus().get(i), cell));
+      }
+    }
+    return bean;
+  }
+
+  private T bind(Map<Menu, StandardCell> menuToValueCell,
+      Function<Menu, Optional<PropertyWriter>> writerFunction) {
+    if (Objects.isNull(constructor) || !menuToValueCell.keySet().stream()
+        .allMatch(menu -> writerFunction.apply(menu).isPresent())) {
+      return ExcelUtil.toJsonObject(menuToValueCell).toJavaObject(type);
+    }
+    T bean = newInstance();
+    menuToValueCell.forEach((menu, cell) -> writerFunction.apply(menu).get().write(bean,
+        getValue(menu, cell)));
+    return bean;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T newInstance() {
+    try {
+      return (T) constructor.invokeExact();
+    } catch (Throwable e) {
+      throw new JSONException("create instance error, class " + type.getName(), e);
+    }
+  }
+
+  public Class<T> getType() {
+    return type;
+  }
+}
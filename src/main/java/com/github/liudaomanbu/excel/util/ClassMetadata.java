@@ -0,0 +1,146 @@
+package com.github.liudaomanbu.excel.util;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Optional;
+import com.github.liudaomanbu.excel.annotation.ExcelField;
+import com.github.liudaomanbu.excel.annotation.ExcelSheet;
+import com.github.liudaomanbu.excel.annotation.ExcelTable;
+import com.github.liudaomanbu.excel.config.TableConfigFactory;
+import com.github.liudaomanbu.excel.matcher.data.type.BaseDataType;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
+import com.google.common.reflect.TypeToken;
+
+// 每个类的反射信息只读取一次,随类的生命周期缓存
+class ClassMetadata {
+  private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+    @Override
+    protected ClassMetadata computeValue(Class<?> type) {
+      return new ClassMetadata(type);
+    }
+  };
+
+  private static final ImmutableMap<Class<?>, BaseDataType> TYPE_TO_DATA_TYPES =
+      ImmutableMap.<Class<?>, BaseDataType>builder()
+          .putAll(Maps.asMap(ImmutableSet.of(byte.class, Byte.class, short.class, Short.class,
+              int.class, Integer.class, long.class, Long.class, BigInteger.class),
+              type -> BaseDataType.WHOLE_NUMBER))
+          .putAll(Maps.asMap(ImmutableSet.of(float.class, Float.class, double.class, Double.class,
+              BigDecimal.class), type -> BaseDataType.DECIMAL))
+          .put(boolean.class, BaseDataType.BOOLEAN).put(Boolean.class, BaseDataType.BOOLEAN)
+          .put(Date.class, BaseDataType.DATE_TIME).put(LocalDateTime.class, BaseDataType.DATE_TIME)
+          .put(LocalDate.class, BaseDataType.DATE).put(LocalTime.class, BaseDataType.TIME)
+          .build();
+
+  static ClassMetadata of(Class<?> type) {
+    return CACHE.get(type);
+  }
+
+  private final ExcelSheet excelSheet;
+  private final ExcelTable excelTable;
+  private final ImmutableList<Field> fields;
+  private final ImmutableMultimap<String, Field> nameToFields;
+  private final ImmutableMap<Field, ExcelField> fieldToExcelFields;
+  // 无法推断数据类型的字段不在其中
+  private final ImmutableMap<Field, BaseDataType> fieldToDataTypes;
+  private final ImmutableList<TypeToken<?>> genericTypes;
+  private final ImmutableList<TypeToken<?>> componentOrGenericTypes;
+  // 编译期生成的配置,没有时为null
+  private final TableConfigFactory<?> tableConfigFactory;
+
+  private ClassMetadata(Class<?> type) {
+    TypeToken<?> token = TypeToken.of(type);
+    excelSheet = type.getAnnotation(ExcelSheet.class);
+    excelTable = type.getAnnotation(ExcelTable.class);
+    fields = token.getTypes().classes().rawTypes().stream().map(Class::getDeclaredFields)
+        .flatMap(Arrays::stream).collect(ImmutableList.toImmutableList());
+    nameToFields = Multimaps.index(ImmutableSet.copyOf(fields), Field::getName);
+    ImmutableMap.Builder<Field, ExcelField> excelFields = ImmutableMap.builder();
+    ImmutableMap.Builder<Field, BaseDataType> dataTypes = ImmutableMap.builder();
+    for (Field field : ImmutableSet.copyOf(fields)) {
+      ExcelField excelField = field.getAnnotation(ExcelField.class);
+      if (Objects.nonNull(excelField)) {
+        excelFields.put(field, excelField);
+        resolveDataType(excelField.dataType(), field)
+            .ifPresent(dataType -> dataTypes.put(field, dataType));
+      }
+    }
+    fieldToExcelFields = excelFields.build();
+    fieldToDataTypes = dataTypes.build();
+    genericTypes = Arrays.stream(type.getTypeParameters()).map(token::resolveType)
+        .collect(ImmutableList.toImmutableList());
+    componentOrGenericTypes =
+        type.isArray() ? ImmutableList.of(token.getComponentType()) : genericTypes;
+    tableConfigFactory = Objects.isNull(excelTable) ? null : loadTableConfigFactory(type);
+  }
+
+  private static TableConfigFactory<?> loadTableConfigFactory(Class<?> type) {
+    String name = type.getName();
+    int index = name.lastIndexOf('.') + 1;
+    String factoryName = name.substring(0, index) + name.substring(index).replace('$', '_')
+        + TableConfigFactory.SUFFIX;
+    try {
+      Class<?> factoryType = Class.forName(factoryName, true, type.getClassLoader());
+      return TableConfigFactory.class.isAssignableFrom(factoryType)
+          ? (TableConfigFactory<?>) factoryType.getDeclaredConstructor().newInstance()
+          : null;
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null;
+    }
+  }
+
+  private static Optional<BaseDataType> resolveDataType(BaseDataType dataType, Field field) {
+    if (field.getType().equals(String.class) && BaseDataType.STRING.equals(dataType)) {
+      return Optional.of(dataType);
+    }
+    return Optional.ofNullable(TYPE_TO_DATA_TYPES.get(field.getType()));
+  }
+
+  ExcelSheet getExcelSheet() {
+    return excelSheet;
+  }
+
+  ExcelTable getExcelTable() {
+    return excelTable;
+  }
+
+  ImmutableList<Field> getFields() {
+    return fields;
+  }
+
+  ImmutableMultimap<String, Field> getNameToFields() {
+    return nameToFields;
+  }
+
+  ImmutableMap<Field, ExcelField> getFieldToExcelFields() {
+    return fieldToExcelFields;
+  }
+
+  Optional<BaseDataType> getDataType(Field field) {
+    return Optional.ofNullable(fieldToDataTypes.get(field));
+  }
+
+  TableConfigFactory<?> getTableConfigFactory() {
+    return tableConfigFactory;
+  }
+
+  ImmutableList<TypeToken<?>> getGenericTypes() {
+    return genericTypes;
+  }
+
+  ImmutableList<TypeToken<?>> getComponentOrGenericTypes() {
+    return componentOrGenericTypes;
+  }
+}
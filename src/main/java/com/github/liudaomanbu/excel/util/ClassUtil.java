@@ -1,5 +1,8 @@
 package com.github.liudaomanbu.excel.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.Arrays;
@@ -13,7 +16,6 @@ import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import com.google.common.collect.Table;
 import com.google.common.reflect.TypeToken;
 
@@ -22,21 +24,20 @@ public class ClassUtil {
       ImmutableSet.of(Iterable.class, Map.class, Multimap.class, Table.class);
 
   public static Stream<Field> getAllFields(Class<?> type) {
-    return getAllFields(TypeToken.of(type));
+    return ClassMetadata.of(type).getFields().stream();
   }
 
+  // 字段只与原始类型有关
   public static Stream<Field> getAllFields(TypeToken<?> token) {
-    return token.getTypes().classes().rawTypes().stream().map(Class::getDeclaredFields)
-        .flatMap(Arrays::stream);
+    return getAllFields(token.getRawType());
   }
 
   public static ImmutableMultimap<String, Field> getNameToFields(Class<?> type) {
-    return getNameToFields(TypeToken.of(type));
+    return ClassMetadata.of(type).getNameToFields();
   }
 
   public static ImmutableMultimap<String, Field> getNameToFields(TypeToken<?> token) {
-    return Multimaps.index(getAllFields(token).collect(ImmutableSet.toImmutableSet()),
-        Field::getName);
+    return getNameToFields(token.getRawType());
   }
 
   public static Optional<Field> getField(Class<?> type, String fieldName) {
@@ -81,7 +82,7 @@ public class ClassUtil {
   }
 
   public static ImmutableList<TypeToken<?>> getGenericTypes(Class<?> type) {
-    return getGenericTypes(TypeToken.of(type));
+    return ClassMetadata.of(type).getGenericTypes();
   }
 
   public static ImmutableList<TypeToken<?>> getGenericTypes(TypeToken<?> token) {
@@ -98,7 +99,7 @@ public class ClassUtil {
   }
 
   public static ImmutableList<TypeToken<?>> getComponentOrGenericTypes(Class<?> type) {
-    return getComponentOrGenericTypes(TypeToken.of(type));
+    return ClassMetadata.of(type).getComponentOrGenericTypes();
   }
 
   public static ImmutableList<TypeToken<?>> getComponentOrGenericTypes(TypeToken<?> token) {
@@ -124,6 +125,19 @@ public class ClassUtil {
     // }
   }
 
+  // 无参构造器转为()Object的MethodHandle,有参数或不可访问时为empty,不修改构造器的可访问性
+  public static Optional<MethodHandle> unreflectConstructor(Constructor<?> constructor) {
+    if (constructor.getParameterCount() != 0) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(MethodHandles.lookup().unreflectConstructor(constructor)
+          .asType(MethodType.methodType(Object.class)));
+    } catch (IllegalAccessException e) {
+      return Optional.empty();
+    }
+  }
+
   private ClassUtil() {
     throw new AssertionError();
   }
@@ -4,11 +4,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Map;
@@ -29,28 +24,24 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Row.MissingCellPolicy;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.ss.util.CellRangeAddress;
 import com.alibaba.fastjson.JSONObject;
-import com.github.liudaomanbu.excel.annotation.ExcelField;
 import com.github.liudaomanbu.excel.annotation.ExcelMenu;
-import com.github.liudaomanbu.excel.annotation.ExcelSheet;
-import com.github.liudaomanbu.excel.annotation.ExcelTable;
 import com.github.liudaomanbu.excel.config.MenuConfig;
 import com.github.liudaomanbu.excel.config.MenuDataConfig;
 import com.github.liudaomanbu.excel.config.SheetConfig;
 import com.github.liudaomanbu.excel.config.TableConfig;
+import com.github.liudaomanbu.excel.config.TableConfigFactory;
 import com.github.liudaomanbu.excel.config.WorkbookConfig;
 import com.github.liudaomanbu.excel.matcher.data.type.BaseDataType;
 import com.github.liudaomanbu.excel.matcher.usermodel.SheetMatcher;
 import com.github.liudaomanbu.excel.matcher.usermodel.StandardCellMatcher;
+import com.github.liudaomanbu.excel.parse.detached.DetachedWorkbook;
 import com.github.liudaomanbu.excel.parse.result.Menu;
 import com.github.liudaomanbu.excel.parse.result.StandardCell;
 import com.github.liudaomanbu.excel.parse.result.WorkbookParseResult;
 import com.google.common.base.Strings;
-import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 
 
 public class ExcelUtil {
@@ -67,16 +58,24 @@ public class ExcelUtil {
 
   public static WorkbookParseResult parse(File file, WorkbookConfig config)
       throws EncryptedDocumentException, InvalidFormatException, IOException {
-    return config.parse(WorkbookFactory.create(file));
+    return config.parse(config.getEngineType().create(file));
+  }
+
+  // 解析后复制结果并关闭workbook,结果不再引用POI对象
+  public static DetachedWorkbook parseDetached(File file, WorkbookConfig config)
+      throws EncryptedDocumentException, InvalidFormatException, IOException {
+    try (Workbook workbook = config.getEngineType().create(file)) {
+      return config.parse(workbook).detach();
+    }
   }
 
   public static WorkbookParseResult parse(InputStream inputStream, WorkbookConfig config)
       throws EncryptedDocumentException, InvalidFormatException, IOException {
-    return config.parse(WorkbookFactory.create(inputStream));
+    return config.parse(config.getEngineType().create(inputStream));
   }
 
   public static SheetConfig.Builder parseToSheetConfig(Class<?> type) {
-    return Optional.ofNullable(type).map(t -> t.getAnnotation(ExcelSheet.class)).map(t -> {
+    return Optional.ofNullable(type).map(t -> ClassMetadata.of(t).getExcelSheet()).map(t -> {
       SheetConfig.Builder builder = SheetConfig.builder();
       if (!Strings.isNullOrEmpty(t.value())) {
         builder.setId(t.value()).setMatcher(
@@ -87,17 +86,22 @@ public class ExcelUtil {
   }
 
   public static <V> TableConfig.Builder parseToTableConfig(Class<V> type) {
-    return Optional.ofNullable(type).map(t -> t.getAnnotation(ExcelTable.class)).map(t -> {
+    TableConfigFactory<?> factory =
+        Optional.ofNullable(type).map(t -> ClassMetadata.of(t).getTableConfigFactory()).orElse(null);
+    if (Objects.nonNull(factory)) {
+      return factory.createTableConfigBuilder();
+    }
+    return Optional.ofNullable(type).map(t -> ClassMetadata.of(t).getExcelTable()).map(t -> {
       TableConfig.Builder builder =
           TableConfig.builder().setId(type).setTopMenuConfigBuilders(ClassUtil.getAllFields(type)
-              .map(ExcelUtil::parseToMenuConfig).filter(Objects::nonNull).collect(Collectors.toList()));
+              .map(ExcelUtil::parseToMenuConfig).filter(Objects::nonNull).collect(Collectors.toList()))
+              .setMenuSearchType(t.menuSearchType());
       return builder;
     }).orElse(null);
   }
 
   public static <T> T toJavaObject(Map<Menu, StandardCell> menuToValueCell, Class<T> type) {
-    JSONObject jsonObject = toJsonObject(menuToValueCell);
-    return jsonObject.toJavaObject(type);
+    return BeanBinder.of(type).bind(menuToValueCell);
   }
 
   public static JSONObject toJsonObject(Map<Menu, StandardCell> menuToValueCell) {
@@ -108,7 +112,7 @@ public class ExcelUtil {
       if (Objects.isNull(field)) {
         value = cell.getValue();
       } else {
-        value = menu.getData().getConfig().getDataType().cast(cell.getValue(), field.getType());
+        value = menu.getData().getConfig().getDataType().cast(cell, field.getType());
       }
 
       jsonObject.put(menu.getFieldName(), value);
@@ -117,54 +121,25 @@ public class ExcelUtil {
   }
 
   public static MenuConfig.Builder parseToMenuConfig(Field field) {
-    return Optional.ofNullable(field).map(f -> f.getAnnotation(ExcelField.class)).map(f -> {
+    return Optional.ofNullable(field).map(
+        f -> ClassMetadata.of(f.getDeclaringClass()).getFieldToExcelFields().get(f)).map(f -> {
       ExcelMenu excelMenu = f.menu();
       MenuConfig.Builder builder = MenuConfig.builder().setId(excelMenu.value())
-          .setMatcher(new StandardCellMatcher().addDataPredicate(excelMenu.valueMatcherType(),
-              excelMenu.value(), value -> BaseDataType.STRING.cast(value, String.class)))
+          .setMatcher(new StandardCellMatcher().addStringValuePredicate(
+              excelMenu.valueMatcherType(), excelMenu.value()))
           .setDirection(excelMenu.direction()).setDistance(excelMenu.distance())
           .setNecessity(excelMenu.necessity())
           .setDataConfigBuilder(MenuDataConfig.builder().setLoadType(f.loadType())
-              .setDataType(findDataType(f.dataType(), field)).setField(field)
+              .setDataType(findDataType(field)).setField(field)
               .setFieldName(field.getName()));
       return builder;
     }).orElse(null);
   }
 
-  private static BaseDataType findDataType(BaseDataType dataType, Field field) {
-    if (field.getType().equals(String.class) && BaseDataType.STRING.equals(dataType)) {
-      return dataType;
-    }
-    ImmutableCollection<Class<?>> wholeNumbers =
-        ImmutableSet.of(byte.class, Byte.class, short.class, Short.class, int.class, Integer.class,
-            long.class, Long.class, BigInteger.class);
-    if (wholeNumbers.contains(field.getType())) {
-      return BaseDataType.WHOLE_NUMBER;
-    }
-
-    ImmutableCollection<Class<?>> decimals =
-        ImmutableSet.of(float.class, Float.class, double.class, Double.class, BigDecimal.class);
-    if (decimals.contains(field.getType())) {
-      return BaseDataType.DECIMAL;
-    }
-
-    if (boolean.class.equals(field.getType()) || Boolean.class.equals(field.getType())) {
-      return BaseDataType.BOOLEAN;
-    }
-
-    if (Date.class.equals(field.getType()) || LocalDateTime.class.equals(field.getType())) {
-      return BaseDataType.DATE_TIME;
-    }
-
-    if (LocalDate.class.equals(field.getType())) {
-      return BaseDataType.DATE;
-    }
-
-    if (LocalTime.class.equals(field.getType())) {
-      return BaseDataType.TIME;
-    }
-
-    throw new IllegalArgumentException();
+  // 由ClassMetadata按字段类型推断,结果随类缓存
+  private static BaseDataType findDataType(Field field) {
+    return ClassMetadata.of(field.getDeclaringClass()).getDataType(field)
+        .orElseThrow(IllegalArgumentException::new);
   }
 
   @Nullable
@@ -186,13 +161,13 @@ public class ExcelUtil {
 
   public static Optional<CellRangeAddress> getMergedRegion(@Nullable Cell cell) {
     return Optional.ofNullable(cell)
-        .map(t -> getMergedRegion(t.getSheet(), t.getRowIndex(), t.getColumnIndex())).get();
+        .flatMap(t -> getMergedRegion(t.getSheet(), t.getRowIndex(), t.getColumnIndex()));
   }
 
   public static Optional<CellRangeAddress> getMergedRegion(@Nullable Sheet sheet, int rowIndex,
       int columnIndex) {
     return getMergedRegions(sheet).filter(address -> address.isInRange(rowIndex, columnIndex))
-        .findAny();
+        .findFirst();
   }
 
   public static Optional<StandardCell> toStandardCell(@Nullable Cell cell) {
@@ -420,9 +395,11 @@ public class ExcelUtil {
 
     MissingCellPolicy effectivePolicy =
         Optional.ofNullable(policy).orElse(DEFAULT_MISSING_CELL_POLICY);
-    return getRows(sheet, cellRangeAddress.getFirstRow(), cellRangeAddress.getLastRow())
-        .flatMap(row -> getCells(row, cellRangeAddress.getFirstColumn(),
-            cellRangeAddress.getLastColumn(), effectivePolicy));
+    // getRows与getCells的结束下标不包含在内,与缺失的行一样跳过缺失的单元格
+    return getRows(sheet, cellRangeAddress.getFirstRow(), cellRangeAddress.getLastRow() + 1)
+        .filter(Objects::nonNull).flatMap(row -> getCells(row, cellRangeAddress.getFirstColumn(),
+            cellRangeAddress.getLastColumn() + 1, effectivePolicy))
+        .filter(Objects::nonNull);
   }
 
   public static Stream<Cell> getCells(@Nullable Row row) {
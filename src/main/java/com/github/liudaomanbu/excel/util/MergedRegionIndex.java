@@ -0,0 +1,47 @@
+package com.github.liudaomanbu.excel.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeMap;
+import com.google.common.collect.TreeRangeMap;
+
+// 按行建立的合并单元格区间索引,建立之后合并单元格的变化不会反映到索引
+public class MergedRegionIndex {
+  public static MergedRegionIndex of(Sheet sheet) {
+    Preconditions.checkNotNull(sheet);
+    return new MergedRegionIndex(sheet);
+  }
+
+  private final int size;
+  private final Map<Integer, RangeMap<Integer, CellRangeAddress>> rowIndexToRegions;
+
+  private MergedRegionIndex(Sheet sheet) {
+    List<CellRangeAddress> regions = Lists.newArrayList(sheet.getMergedRegions());
+    size = regions.size();
+    rowIndexToRegions = Maps.newHashMap();
+    // 倒序放入,区域重叠时保留先出现的合并单元格
+    for (CellRangeAddress region : Lists.reverse(regions)) {
+      Range<Integer> columns = Range.closed(region.getFirstColumn(), region.getLastColumn());
+      for (int rowIndex = region.getFirstRow(); rowIndex <= region.getLastRow(); rowIndex++) {
+        rowIndexToRegions.computeIfAbsent(rowIndex, key -> TreeRangeMap.create())
+            .put(columns, region);
+      }
+    }
+  }
+
+  public Optional<CellRangeAddress> get(int rowIndex, int columnIndex) {
+    return Optional.ofNullable(rowIndexToRegions.get(rowIndex))
+        .map(regions -> regions.get(columnIndex));
+  }
+
+  public int size() {
+    return size;
+  }
+}
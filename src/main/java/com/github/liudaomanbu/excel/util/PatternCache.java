@@ -0,0 +1,35 @@
+package com.github.liudaomanbu.excel.util;
+
+import java.util.regex.Pattern;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+// 用户配置的正则表达式编译结果缓存,有容量上限,可多线程共享
+public class PatternCache {
+  private static final long MAXIMUM_SIZE = 1024;
+  private static final LoadingCache<String, Pattern> CACHE = CacheBuilder.newBuilder()
+      .maximumSize(MAXIMUM_SIZE).build(CacheLoader.from(Pattern::compile));
+
+  public static Pattern get(String regex) {
+    Preconditions.checkNotNull(regex);
+    try {
+      return CACHE.getUnchecked(regex);
+    } catch (UncheckedExecutionException e) {
+      // 保持与String.matches一致,直接抛出PatternSyntaxException
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
+  public static boolean matches(String value, String regex) {
+    return get(regex).matcher(value).matches();
+  }
+
+  private PatternCache() {
+    throw new AssertionError();
+  }
+}